@@ -0,0 +1,103 @@
+package edu.uca.registration.app;
+
+import edu.uca.registration.repo.EnrollmentRepository;
+import edu.uca.registration.repo.impl.BinaryCourseRepository;
+import edu.uca.registration.repo.impl.BinaryEnrollmentRepository;
+import edu.uca.registration.repo.impl.BinaryStudentRepository;
+import edu.uca.registration.repo.impl.CsvCourseRepository;
+import edu.uca.registration.repo.impl.CsvEnrollmentRepository;
+import edu.uca.registration.repo.impl.CsvStudentRepository;
+import edu.uca.registration.repo.impl.EnrollmentCheckpointer;
+import edu.uca.registration.repo.impl.KvCourseRepository;
+import edu.uca.registration.repo.impl.KvEnrollmentRepository;
+import edu.uca.registration.repo.impl.KvStudentRepository;
+import edu.uca.registration.repo.impl.LazyCourseRepository;
+import edu.uca.registration.repo.impl.LazyStudentRepository;
+import edu.uca.registration.repo.impl.MappedCsvStudentRepository;
+import edu.uca.registration.repo.impl.SegmentedEnrollmentRepository;
+import edu.uca.registration.service.RegistrationService;
+import java.util.concurrent.TimeUnit;
+
+// Repository wiring shared by the CLI and HTTP entry points
+class Backend {
+    // Pending course/student saves that trigger a write-behind flush before the staleness bound
+    private static final int WRITE_BEHIND_THRESHOLD = 256;
+
+    final RegistrationService registrationService;
+    private final EnrollmentCheckpointer checkpointer;
+
+    private Backend(RegistrationService registrationService, EnrollmentCheckpointer checkpointer) {
+        this.registrationService = registrationService;
+        this.checkpointer = checkpointer;
+    }
+
+    static Backend open(String[] args) {
+        // Create repositories; --kv uses the stores written by --migrate-to-kv, --binary uses the .bin files written by --convert-to-binary,
+        // and large archives can map students.csv instead of loading it.
+        // Each loads on first use, with a background head start unless --eager is given.
+        boolean kv = Main.hasFlag(args, "--kv");
+        boolean binary = Main.hasFlag(args, "--binary");
+        boolean mapped = Main.hasFlag(args, "--mapped-students");
+        boolean eager = Main.hasFlag(args, "--eager");
+        // --segmented-enrollments keeps one file per course under enrollments.d and saves only changed courses
+        boolean segmented = Main.hasFlag(args, "--segmented-enrollments");
+        // --write-behind defers CSV course and student saves by up to a second; --write-behind=MS sets the bound
+        long writeBehind = writeBehindMillis(args);
+        var studentRepo = new LazyStudentRepository(() -> {
+            if (kv) return new KvStudentRepository();
+            if (binary) return new BinaryStudentRepository();
+            return mapped ? new MappedCsvStudentRepository() : new CsvStudentRepository(writeBehind, WRITE_BEHIND_THRESHOLD);
+        });
+        var courseRepo = new LazyCourseRepository(() -> {
+            if (kv) return new KvCourseRepository();
+            return binary ? new BinaryCourseRepository() : new CsvCourseRepository(writeBehind, WRITE_BEHIND_THRESHOLD);
+        });
+        EnrollmentRepository enrollmentRepo;
+        if (kv) {
+            enrollmentRepo = new KvEnrollmentRepository(courseRepo);
+        } else if (segmented) {
+            enrollmentRepo = new SegmentedEnrollmentRepository(courseRepo);
+        } else {
+            enrollmentRepo = binary ? new BinaryEnrollmentRepository(courseRepo) : new CsvEnrollmentRepository(courseRepo);
+        }
+
+        // Create test.java.edu.uca.registration.service
+        var registrationService = new RegistrationService(studentRepo, courseRepo, enrollmentRepo);
+
+        // Load existing data
+        if (eager) {
+            registrationService.loadAllData();
+        } else {
+            studentRepo.preload();
+            courseRepo.preload();
+            registrationService.loadAllDataInBackground();
+        }
+
+        // Compact the enrollment log in the background; key-value stores compact themselves
+        EnrollmentCheckpointer checkpointer = null;
+        if (enrollmentRepo instanceof CsvEnrollmentRepository journaled) {
+            checkpointer = new EnrollmentCheckpointer(journaled, 64 * 1024);
+            checkpointer.start(30, TimeUnit.SECONDS);
+        }
+
+        // Check for demo mode
+        if (Main.hasFlag(args, "--demo")) {
+            registrationService.seedDemoData();
+        }
+        return new Backend(registrationService, checkpointer);
+    }
+
+    private static long writeBehindMillis(String[] args) {
+        for (String arg : args) {
+            if (arg.equalsIgnoreCase("--write-behind")) return 1000;
+            if (arg.startsWith("--write-behind=")) return Long.parseLong(arg.substring("--write-behind=".length()));
+        }
+        return 0;
+    }
+
+    // Save data on exit
+    void close() {
+        if (checkpointer != null) checkpointer.close();
+        registrationService.saveAllData();
+    }
+}
@@ -1,8 +1,19 @@
 package edu.uca.registration.app;
 
+import edu.uca.registration.metrics.Metrics;
+import edu.uca.registration.service.EnrollmentCommand;
+import edu.uca.registration.service.EnrollmentResult;
 import edu.uca.registration.service.RegistrationService;
 import edu.uca.registration.model.Course;
+import edu.uca.registration.model.ScheduleEntry;
 import edu.uca.registration.model.Student;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 import java.util.Scanner;
 
 public class CourseRegistrationApp {
@@ -29,6 +40,11 @@ public class CourseRegistrationApp {
             println("4) Drop student from course");
             println("5) List students");
             println("6) List courses");
+            println("7) Show student schedule");
+            println("8) Run batch file");
+            println("9) Record completed course");
+            println("10) List students eligible for a course");
+            println("11) Show metrics");
             println("0) Exit");
             print("Choose: ");
             String choice = scanner.nextLine().trim();
@@ -39,6 +55,11 @@ public class CourseRegistrationApp {
                 case "4": dropUI(); break;
                 case "5": listStudents(); break;
                 case "6": listCourses(); break;
+                case "7": scheduleUI(); break;
+                case "8": batchUI(); break;
+                case "9": completionUI(); break;
+                case "10": eligibleUI(); break;
+                case "11": print(Metrics.toPrometheus()); break;
                 case "0": return;
                 default: println("Invalid"); break;
             }
@@ -68,10 +89,14 @@ public class CourseRegistrationApp {
         String title = scanner.nextLine().trim();
         print("Capacity: ");
         String capacityStr = scanner.nextLine().trim();
+        print("Meeting time (e.g. MWF 09:00-09:50, blank if TBA): ");
+        String meetingTime = scanner.nextLine().trim();
+        print("Prerequisites (comma-separated codes, blank if none): ");
+        List<String> prerequisites = Arrays.asList(scanner.nextLine().trim().split(","));
 
         try {
             int cap = Integer.parseInt(capacityStr);
-            registrationService.addCourse(code, title, cap);
+            registrationService.addCourse(code, title, cap, meetingTime, prerequisites);
             println("Course added successfully.");
         } catch (NumberFormatException e) {
             println("Error: Capacity must be a number");
@@ -86,19 +111,20 @@ public class CourseRegistrationApp {
         print("Course Code: ");
         String cc = scanner.nextLine().trim();
 
-        String result = registrationService.enrollStudent(sid, cc);
-
-        if (result.contains("cannot be empty")) {
-            println("Error: " + result);
-        } else {
-            switch (result) {
-                case "No such course": println("No such course"); break;
-                case "Already enrolled": println("Already enrolled"); break;
-                case "Already waitlisted": println("Already waitlisted"); break;
-                case "WAITLIST": println("Course full. Added to WAITLIST."); break;
-                case "ENROLLED": println("Enrolled."); break;
-                default: println(result);
-            }
+        EnrollmentResult result;
+        try {
+            result = registrationService.enrollStudent(sid, cc);
+        } catch (UncheckedIOException e) {
+            println("Error: enrollment not saved: " + e.getMessage());
+            return;
+        }
+
+        switch (result.status) {
+            case INVALID_STUDENT_ID:
+            case INVALID_COURSE_CODE: println("Error: " + result); break;
+            case WAITLISTED: println("Course full. Added to WAITLIST at position " + result.waitlistPosition + "."); break;
+            case ENROLLED: println("Enrolled. " + result.remainingSeats + " seat(s) left."); break;
+            default: println(result.toString());
         }
     }
 
@@ -108,22 +134,22 @@ public class CourseRegistrationApp {
         print("Course Code: ");
         String cc = scanner.nextLine().trim();
 
-        String result = registrationService.dropStudent(sid, cc);
-
-        if (result.contains("cannot be empty")) {
-            println("Error: " + result);
-        } else {
-            switch (result) {
-                case "No such course": println("No such course"); break;
-                case "PROMOTED":
-                    String[] parts = result.split(":");
-                    println("Promoted " + parts[1] + " from waitlist.");
-                    break;
-                case "DROPPED": println("Dropped."); break;
-                case "WAITLIST_REMOVED": println("Removed from waitlist."); break;
-                case "NOT_ENROLLED": println("Not enrolled or waitlisted."); break;
-                default: println(result);
-            }
+        EnrollmentResult result;
+        try {
+            result = registrationService.dropStudent(sid, cc);
+        } catch (UncheckedIOException e) {
+            println("Error: drop not saved: " + e.getMessage());
+            return;
+        }
+
+        switch (result.status) {
+            case INVALID_STUDENT_ID:
+            case INVALID_COURSE_CODE: println("Error: " + result); break;
+            case PROMOTED: println("Promoted " + result.promotedStudentId + " from waitlist."); break;
+            case DROPPED: println("Dropped."); break;
+            case WAITLIST_REMOVED: println("Removed from waitlist."); break;
+            case NOT_ENROLLED: println("Not enrolled or waitlisted."); break;
+            default: println(result.toString());
         }
     }
 
@@ -141,6 +167,71 @@ public class CourseRegistrationApp {
         }
     }
 
+    private void scheduleUI() {
+        print("Student ID: ");
+        String sid = scanner.nextLine().trim();
+        var schedule = registrationService.getStudentSchedule(sid);
+        if (schedule.isEmpty()) {
+            println("Not enrolled or waitlisted in any course.");
+            return;
+        }
+        println("Schedule:");
+        for (ScheduleEntry e : schedule) {
+            println(" - " + e);
+        }
+    }
+
+    private void completionUI() {
+        print("Student ID: ");
+        String sid = scanner.nextLine().trim();
+        print("Completed Course Code: ");
+        String cc = scanner.nextLine().trim();
+        try {
+            registrationService.recordCompletion(sid, cc);
+            println("Completion recorded.");
+        } catch (IllegalArgumentException e) {
+            println("Error: " + e.getMessage());
+        }
+    }
+
+    private void eligibleUI() {
+        print("Course Code: ");
+        String cc = scanner.nextLine().trim();
+        List<String> eligible = registrationService.eligibleStudents(cc);
+        println("Eligible students (" + eligible.size() + "):");
+        for (String sid : eligible) {
+            println(" - " + sid);
+        }
+    }
+
+    // One command per line: ENROLL,<student id>,<course code> or DROP,<student id>,<course code>
+    private void batchUI() {
+        print("Batch file: ");
+        String path = scanner.nextLine().trim();
+        List<EnrollmentCommand> commands = new ArrayList<>();
+        try {
+            for (String line : Files.readAllLines(Path.of(path))) {
+                String[] p = line.split(",", -1);
+                if (p.length < 3) continue;
+                try {
+                    var type = EnrollmentCommand.Type.valueOf(p[0].trim().toUpperCase());
+                    commands.add(new EnrollmentCommand(type, p[1].trim(), p[2].trim()));
+                } catch (IllegalArgumentException e) {
+                    println("Skipping: " + line);
+                }
+            }
+        } catch (IOException e) {
+            println("Error: " + e.getMessage());
+            return;
+        }
+
+        List<EnrollmentResult> results = registrationService.applyBatch(commands);
+        for (int i = 0; i < commands.size(); i++) {
+            println(" - " + commands.get(i) + ": " + results.get(i));
+        }
+        println("Processed " + commands.size() + " commands.");
+    }
+
     private void print(String s){ System.out.print(s); }
     private void println(String s){ System.out.println(s); }
 }
\ No newline at end of file
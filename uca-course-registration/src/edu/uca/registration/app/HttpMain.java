@@ -0,0 +1,62 @@
+package edu.uca.registration.app;
+
+import edu.uca.registration.repo.impl.CsvCourseRepository;
+import edu.uca.registration.repo.impl.CsvEnrollmentRepository;
+import edu.uca.registration.service.AdmissionQueue;
+import edu.uca.registration.service.EnrollmentGateway;
+import edu.uca.registration.service.RegistrationEngine;
+import java.io.File;
+import java.io.IOException;
+
+// Serves RegistrationService over HTTP; accepts Main's storage flags plus --port=N (default 8080)
+// and --queue-capacity=N (default 10000, 0 sends enrolls straight to the service). --engine runs
+// enroll/drop/add through the single-writer RegistrationEngine instead, and --standby=DIR replicates
+// its changes to CSV files in DIR.
+public class HttpMain {
+    public static void main(String[] args) {
+        int port = 8080;
+        int queueCapacity = 10000;
+        String standbyDir = null;
+        for (String arg : args) {
+            if (arg.startsWith("--port=")) port = Integer.parseInt(arg.substring("--port=".length()));
+            if (arg.startsWith("--queue-capacity=")) queueCapacity = Integer.parseInt(arg.substring("--queue-capacity=".length()));
+            if (arg.startsWith("--standby=")) standbyDir = arg.substring("--standby=".length());
+        }
+
+        var backend = Backend.open(args);
+        EnrollmentGateway gateway = null;
+        if (Main.hasFlag(args, "--engine")) {
+            if (standbyDir != null) {
+                new File(standbyDir).mkdirs();
+                var standbyCourses = new CsvCourseRepository(new File(standbyDir, "courses.csv").getPath());
+                var standbyEnrollments = new CsvEnrollmentRepository(standbyCourses,
+                        new File(standbyDir, "enrollments.csv").getPath(), new File(standbyDir, "enrollments.log").getPath());
+                gateway = new RegistrationEngine(backend.registrationService, 1 << 14, standbyCourses, standbyEnrollments);
+            } else {
+                gateway = new RegistrationEngine(backend.registrationService, 1 << 14);
+            }
+        } else if (queueCapacity > 0) {
+            gateway = new AdmissionQueue(backend.registrationService, Runtime.getRuntime().availableProcessors(), queueCapacity);
+        }
+        EnrollmentGateway front = gateway;
+        RegistrationHttpServer server;
+        try {
+            server = new RegistrationHttpServer(backend.registrationService, gateway, port);
+        } catch (IOException e) {
+            System.out.println("Failed start HTTP server: " + e.getMessage());
+            if (front != null) front.close();
+            backend.close();
+            return;
+        }
+        server.start();
+        System.out.println("Listening on http://localhost:" + server.port() + "/ (Ctrl+C to stop)");
+
+        // Drain in-flight requests, then save data on exit
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            server.stop(2);
+            if (front != null) front.close();
+            backend.close();
+        }, "http-shutdown"));
+    }
+}
+
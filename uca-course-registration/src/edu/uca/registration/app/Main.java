@@ -1,35 +1,42 @@
 package edu.uca.registration.app;
 
-import edu.uca.registration.repo.impl.CsvCourseRepository;
-import edu.uca.registration.repo.impl.CsvEnrollmentRepository;
-import edu.uca.registration.repo.impl.CsvStudentRepository;
-import edu.uca.registration.service.RegistrationService;
-import java.util.Arrays;
+import edu.uca.registration.repo.impl.BinaryFormatConverter;
+import edu.uca.registration.repo.impl.KeyValueMigration;
+import java.io.IOException;
+import java.nio.file.Path;
 
 public class Main {
     public static void main(String[] args) {
-        // Create repositories
-        var studentRepo = new CsvStudentRepository();
-        var courseRepo = new CsvCourseRepository();
-        var enrollmentRepo = new CsvEnrollmentRepository(courseRepo);
-
-        // Create test.java.edu.uca.registration.service
-        var registrationService = new RegistrationService(studentRepo, courseRepo, enrollmentRepo);
-
-        // Load existing data
-        registrationService.loadAllData();
-
-        // Check for demo mode
-        boolean demo = args.length > 0 && "--demo".equalsIgnoreCase(args[0]);
-        if (demo) {
-            registrationService.seedDemoData();
+        if (hasFlag(args, "--convert-to-binary")) {
+            try {
+                BinaryFormatConverter.convert(Path.of(""));
+            } catch (IOException e) {
+                System.out.println("Failed convert data files: " + e.getMessage());
+            }
+            return;
+        }
+        if (hasFlag(args, "--migrate-to-kv")) {
+            try {
+                KeyValueMigration.fromCsv(Path.of(""));
+            } catch (IOException e) {
+                System.out.println("Failed migrate data files: " + e.getMessage());
+            }
+            return;
         }
 
+        var backend = Backend.open(args);
+
         // Start CLI application
-        var app = new CourseRegistrationApp(registrationService);
+        var app = new CourseRegistrationApp(backend.registrationService);
         app.run();
 
-        // Save data on exit
-        registrationService.saveAllData();
+        backend.close();
+    }
+
+    static boolean hasFlag(String[] args, String flag) {
+        for (String arg : args) {
+            if (flag.equalsIgnoreCase(arg)) return true;
+        }
+        return false;
     }
 }
\ No newline at end of file
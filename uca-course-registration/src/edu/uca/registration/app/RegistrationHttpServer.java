@@ -0,0 +1,307 @@
+package edu.uca.registration.app;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import edu.uca.registration.metrics.Metrics;
+import edu.uca.registration.model.Course;
+import edu.uca.registration.model.ScheduleEntry;
+import edu.uca.registration.model.Student;
+import edu.uca.registration.service.AdmissionQueue;
+import edu.uca.registration.service.EnrollmentGateway;
+import edu.uca.registration.service.EnrollmentResult;
+import edu.uca.registration.service.RegistrationEngine;
+import edu.uca.registration.service.RegistrationService;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * JSON over HTTP front end for {@link RegistrationService}, one virtual thread per
+ * request. Every response is an object with a "result" code; for enroll and drop it
+ * is the {@link EnrollmentResult.Status} name, with the outcome's fields alongside. With an
+ * {@link EnrollmentGateway}, enroll and drop go through it instead: a full
+ * {@link AdmissionQueue} answers 503 QUEUE_FULL with a Retry-After header, and a
+ * {@link RegistrationEngine} also takes course additions so they are sequenced
+ * and replicated with everything else.
+ *
+ *   GET  /courses                      list courses
+ *   POST /courses                      {"code","title","capacity","meetingTime"?,"prerequisites"?}
+ *   GET  /students                     list students
+ *   POST /students                     {"id","name","email"}
+ *   GET  /students/{id}/schedule       enrolled and waitlisted courses
+ *   POST /enroll                       {"studentId","courseCode"}
+ *   POST /drop                         {"studentId","courseCode"}
+ *   GET  /admission                    admission queue depth and wait times
+ *   GET  /metrics                      counters and latencies, Prometheus text format
+ */
+public class RegistrationHttpServer {
+    private final RegistrationService registrationService;
+    private final EnrollmentGateway gateway; // null = call the service directly
+    private final HttpServer server;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    public RegistrationHttpServer(RegistrationService registrationService, int port) throws IOException {
+        this(registrationService, null, port);
+    }
+
+    public RegistrationHttpServer(RegistrationService registrationService, EnrollmentGateway gateway, int port)
+            throws IOException {
+        this.registrationService = registrationService;
+        this.gateway = gateway;
+        this.server = HttpServer.create(new InetSocketAddress(port), 0);
+        server.setExecutor(executor);
+        server.createContext("/", this::handle);
+    }
+
+    public void start() {
+        server.start();
+    }
+
+    // Actual port, useful when constructed with port 0
+    public int port() {
+        return server.getAddress().getPort();
+    }
+
+    // Stops accepting connections and waits up to delaySeconds for in-flight requests
+    public void stop(int delaySeconds) {
+        server.stop(delaySeconds);
+        executor.close();
+    }
+
+    private static final class Response {
+        final int status;
+        final String body;
+        final int retryAfterSeconds;
+        final String contentType;
+
+        Response(int status, String body) {
+            this(status, body, 0);
+        }
+
+        Response(int status, String body, int retryAfterSeconds) {
+            this(status, body, retryAfterSeconds, "application/json; charset=utf-8");
+        }
+
+        Response(int status, String body, int retryAfterSeconds, String contentType) {
+            this.status = status;
+            this.body = body;
+            this.retryAfterSeconds = retryAfterSeconds;
+            this.contentType = contentType;
+        }
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        Response response;
+        try {
+            response = route(exchange.getRequestMethod(), exchange.getRequestURI().getPath(), exchange);
+        } catch (AdmissionQueue.Rejected full) {
+            response = new Response(503, "{\"result\":\"QUEUE_FULL\",\"message\":" + Json.quote(full.getMessage())
+                    + ",\"retryAfterSeconds\":" + full.retryAfterSeconds + "}", full.retryAfterSeconds);
+        } catch (IllegalArgumentException e) {
+            response = result(400, "INVALID_REQUEST", e.getMessage());
+        } catch (RuntimeException e) {
+            response = result(500, "SERVER_ERROR", String.valueOf(e.getMessage()));
+        }
+        byte[] bytes = response.body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", response.contentType);
+        if (response.retryAfterSeconds > 0) {
+            exchange.getResponseHeaders().set("Retry-After", String.valueOf(response.retryAfterSeconds));
+        }
+        exchange.sendResponseHeaders(response.status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    private Response route(String method, String path, HttpExchange exchange) throws IOException {
+        if (path.length() > 1 && path.endsWith("/")) path = path.substring(0, path.length() - 1);
+        String[] parts = path.split("/");
+        if (path.equals("/enroll") || path.equals("/drop")) {
+            if (!method.equals("POST")) return methodNotAllowed();
+            Map<String, Object> body = readBody(exchange);
+            String studentId = text(body, "studentId"), courseCode = text(body, "courseCode");
+            boolean enroll = path.equals("/enroll");
+            if (gateway != null) {
+                return enrollmentResult(admitted(enroll ? gateway.enroll(studentId, courseCode) : gateway.drop(studentId, courseCode)));
+            }
+            return enrollmentResult(enroll
+                    ? registrationService.enrollStudent(studentId, courseCode)
+                    : registrationService.dropStudent(studentId, courseCode));
+        }
+        if (path.equals("/metrics")) {
+            if (!method.equals("GET")) return methodNotAllowed();
+            return new Response(200, Metrics.toPrometheus(), 0, "text/plain; version=0.0.4; charset=utf-8");
+        }
+        if (path.equals("/admission")) {
+            if (!method.equals("GET")) return methodNotAllowed();
+            return admissionStats();
+        }
+        if (path.equals("/courses")) {
+            if (method.equals("GET")) return listCourses();
+            if (method.equals("POST")) return addCourse(readBody(exchange));
+            return methodNotAllowed();
+        }
+        if (path.equals("/students")) {
+            if (method.equals("GET")) return listStudents();
+            if (method.equals("POST")) {
+                Map<String, Object> body = readBody(exchange);
+                registrationService.addStudent(text(body, "id"), text(body, "name"), text(body, "email"));
+                return result(201, "CREATED", "Student added");
+            }
+            return methodNotAllowed();
+        }
+        if (parts.length == 4 && parts[1].equals("students") && parts[3].equals("schedule")) {
+            if (!method.equals("GET")) return methodNotAllowed();
+            return schedule(parts[2]);
+        }
+        return result(404, "NOT_FOUND", "No route for " + path);
+    }
+
+    // Waiting here parks only this request's virtual thread
+    private static <T> T admitted(CompletableFuture<T> pending) {
+        try {
+            return pending.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) throw cause;
+            throw e;
+        }
+    }
+
+    private Response admissionStats() {
+        if (!(gateway instanceof AdmissionQueue admissionQueue)) {
+            return result(404, "NOT_FOUND", "No admission queue configured");
+        }
+        return new Response(200, "{\"result\":\"OK\",\"depth\":" + admissionQueue.depth()
+                + ",\"capacity\":" + admissionQueue.capacity()
+                + ",\"admitted\":" + admissionQueue.admitted()
+                + ",\"rejected\":" + admissionQueue.rejected()
+                + ",\"averageWaitMillis\":" + admissionQueue.averageWaitMillis()
+                + ",\"maxWaitMillis\":" + admissionQueue.maxWaitMillis() + "}");
+    }
+
+    private static Response enrollmentResult(EnrollmentResult r) {
+        StringBuilder sb = new StringBuilder("{\"result\":\"").append(r.status.name())
+                .append("\",\"message\":").append(Json.quote(r.toString()));
+        if (r.remainingSeats >= 0) sb.append(",\"remainingSeats\":").append(r.remainingSeats);
+        if (r.waitlistPosition > 0) sb.append(",\"waitlistPosition\":").append(r.waitlistPosition);
+        if (r.promotedStudentId != null) sb.append(",\"promoted\":").append(Json.quote(r.promotedStudentId));
+        if (r.conflictWith != null) sb.append(",\"conflictWith\":").append(Json.quote(r.conflictWith));
+        if (!r.missingPrerequisites.isEmpty()) sb.append(",\"missingPrerequisites\":").append(Json.array(r.missingPrerequisites));
+        return new Response(httpStatus(r.status), sb.append('}').toString());
+    }
+
+    private static int httpStatus(EnrollmentResult.Status status) {
+        switch (status) {
+            case NO_SUCH_COURSE: return 404;
+            case INVALID_STUDENT_ID:
+            case INVALID_COURSE_CODE: return 400;
+            default: return status.isSuccess() ? 200 : 409;
+        }
+    }
+
+    private Response addCourse(Map<String, Object> body) {
+        // JSON numbers parse as doubles; 10.5 or 1e10 must not be truncated into some other capacity
+        if (!(body.get("capacity") instanceof Double number) || number != Math.rint(number)
+                || number < Integer.MIN_VALUE || number > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Capacity must be a whole number");
+        }
+        int capacity = number.intValue();
+        List<String> prerequisites = new ArrayList<>();
+        Object listed = body.get("prerequisites");
+        if (listed instanceof List<?> codes) {
+            for (Object code : codes) {
+                if (!(code instanceof String s)) throw new IllegalArgumentException("Prerequisites must be an array of course codes");
+                prerequisites.add(s);
+            }
+        } else if (listed != null) {
+            throw new IllegalArgumentException("Prerequisites must be an array of course codes");
+        }
+        if (gateway instanceof RegistrationEngine engine) {
+            admitted(engine.addCourse(text(body, "code"), text(body, "title"), capacity,
+                    text(body, "meetingTime"), prerequisites));
+        } else {
+            registrationService.addCourse(text(body, "code"), text(body, "title"), capacity,
+                    text(body, "meetingTime"), prerequisites);
+        }
+        return result(201, "CREATED", "Course added");
+    }
+
+    private Response listCourses() {
+        StringBuilder sb = new StringBuilder("{\"result\":\"OK\",\"courses\":[");
+        boolean first = true;
+        for (Course c : registrationService.getAllCourses()) {
+            int enrolled, waitlisted;
+            synchronized (c) {
+                enrolled = c.roster.size();
+                waitlisted = c.waitlist.size();
+            }
+            if (!first) sb.append(',');
+            first = false;
+            sb.append("{\"code\":").append(Json.quote(c.code))
+                    .append(",\"title\":").append(Json.quote(c.title))
+                    .append(",\"capacity\":").append(c.capacity)
+                    .append(",\"meetingTime\":").append(c.meetingTime == null ? "null" : Json.quote(c.meetingTime.toString()))
+                    .append(",\"prerequisites\":").append(Json.array(c.prerequisites))
+                    .append(",\"enrolled\":").append(enrolled)
+                    .append(",\"waitlisted\":").append(waitlisted)
+                    .append('}');
+        }
+        return new Response(200, sb.append("]}").toString());
+    }
+
+    private Response listStudents() {
+        StringBuilder sb = new StringBuilder("{\"result\":\"OK\",\"students\":[");
+        boolean first = true;
+        for (Student s : registrationService.getAllStudents()) {
+            if (!first) sb.append(',');
+            first = false;
+            sb.append("{\"id\":").append(Json.quote(s.id))
+                    .append(",\"name\":").append(Json.quote(s.name))
+                    .append(",\"email\":").append(Json.quote(s.email))
+                    .append('}');
+        }
+        return new Response(200, sb.append("]}").toString());
+    }
+
+    private Response schedule(String studentId) {
+        StringBuilder sb = new StringBuilder("{\"result\":\"OK\",\"schedule\":[");
+        boolean first = true;
+        for (ScheduleEntry e : registrationService.getStudentSchedule(studentId)) {
+            if (!first) sb.append(',');
+            first = false;
+            sb.append("{\"courseCode\":").append(Json.quote(e.courseCode))
+                    .append(",\"waitlisted\":").append(e.waitlisted);
+            if (e.waitlisted) sb.append(",\"position\":").append(e.waitlistPosition);
+            sb.append('}');
+        }
+        return new Response(200, sb.append("]}").toString());
+    }
+
+    private static Map<String, Object> readBody(HttpExchange exchange) throws IOException {
+        return Json.parseObject(new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8));
+    }
+
+    // Null when absent; the service reports missing required fields. Numbers, objects and
+    // arrays are rejected rather than stringified, so 1001 never becomes "1001.0".
+    private static String text(Map<String, Object> body, String field) {
+        Object value = body.get(field);
+        if (value == null || value instanceof String) return (String) value;
+        throw new IllegalArgumentException(field + " must be a string");
+    }
+
+    private static Response methodNotAllowed() {
+        return result(405, "METHOD_NOT_ALLOWED", "Method not allowed");
+    }
+
+    private static Response result(int status, String code, String message) {
+        return new Response(status, "{\"result\":" + Json.quote(code) + ",\"message\":" + Json.quote(message) + "}");
+    }
+}
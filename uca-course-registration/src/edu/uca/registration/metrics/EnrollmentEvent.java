@@ -0,0 +1,30 @@
+package edu.uca.registration.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+// One enroll or drop, emitted only while a Flight Recorder recording has it enabled
+@Name("edu.uca.registration.Enrollment")
+@Label("Enrollment")
+@Category({"UCA Registration", "Service"})
+@Description("An enroll or drop applied by RegistrationService")
+@StackTrace(false)
+public class EnrollmentEvent extends jdk.jfr.Event {
+    @Label("Operation")
+    public String operation;
+
+    @Label("Course Code")
+    public String courseCode;
+
+    @Label("Outcome")
+    public String outcome;
+
+    @Label("Roster Size")
+    public int rosterSize;
+
+    @Label("Waitlist Size")
+    public int waitlistSize;
+}
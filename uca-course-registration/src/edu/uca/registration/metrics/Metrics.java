@@ -0,0 +1,107 @@
+package edu.uca.registration.metrics;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Process-wide registry of counters and latency histograms. Instrumented code looks
+ * its metrics up once, into static fields, and only touches those on the hot path.
+ * {@link #toPrometheus()} renders everything in the Prometheus text format;
+ * histograms are exported as summaries with fixed quantiles, in seconds.
+ */
+public final class Metrics {
+    private static final double[] QUANTILES = {0.5, 0.9, 0.99, 0.999};
+    private static final Map<String, Family> families = new LinkedHashMap<>();
+
+    private static final class Family {
+        final String type;
+        final String help;
+        final Map<String, Object> series = new LinkedHashMap<>();
+
+        Family(String type, String help) {
+            this.type = type;
+            this.help = help;
+        }
+    }
+
+    private Metrics() {
+    }
+
+    // labels alternate name and value, e.g. "store", "journal"
+    public static Counter counter(String name, String help, String... labels) {
+        return (Counter) register(name, "counter", help, labels);
+    }
+
+    public static LatencyHistogram histogram(String name, String help, String... labels) {
+        return (LatencyHistogram) register(name, "summary", help, labels);
+    }
+
+    private static synchronized Object register(String name, String type, String help, String[] labels) {
+        Family family = families.computeIfAbsent(name, n -> new Family(type, help));
+        if (!family.type.equals(type)) {
+            throw new IllegalArgumentException(name + " is already registered as a " + family.type);
+        }
+        return family.series.computeIfAbsent(labelText(labels),
+                l -> type.equals("counter") ? new Counter() : new LatencyHistogram());
+    }
+
+    private static String labelText(String[] labels) {
+        if (labels.length % 2 != 0) throw new IllegalArgumentException("Labels must be name/value pairs");
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < labels.length; i += 2) {
+            sb.append(sb.length() == 0 ? "" : ",").append(labels[i]).append("=\"")
+                    .append(labels[i + 1].replace("\\", "\\\\").replace("\"", "\\\"")).append('"');
+        }
+        return sb.toString();
+    }
+
+    // Bytes handed to the OS by a persistence backend
+    public static Counter bytesWritten(String store) {
+        return counter("registration_persistence_bytes_written_total", "Bytes written to disk", "store", store);
+    }
+
+    public static Counter fsyncs(String store) {
+        return counter("registration_persistence_fsyncs_total", "Forced writes to stable storage", "store", store);
+    }
+
+    // Load/save failures that are reported but otherwise swallowed
+    public static Counter failures(String store, String operation) {
+        return counter("registration_persistence_failures_total", "Failed persistence operations",
+                "store", store, "operation", operation);
+    }
+
+    public static synchronized String toPrometheus() {
+        StringBuilder sb = new StringBuilder();
+        for (var e : families.entrySet()) {
+            String name = e.getKey();
+            Family family = e.getValue();
+            sb.append("# HELP ").append(name).append(' ').append(family.help).append('\n');
+            sb.append("# TYPE ").append(name).append(' ').append(family.type).append('\n');
+            for (var s : family.series.entrySet()) {
+                String labels = s.getKey();
+                if (s.getValue() instanceof Counter counter) {
+                    sample(sb, name, labels, Long.toString(counter.get()));
+                    continue;
+                }
+                LatencyHistogram h = (LatencyHistogram) s.getValue();
+                for (double q : QUANTILES) {
+                    String quantile = (labels.isEmpty() ? "" : labels + ",") + "quantile=\"" + q + "\"";
+                    sample(sb, name, quantile, seconds(h.percentile(q)));
+                }
+                sample(sb, name + "_sum", labels, seconds(h.sumNanos()));
+                sample(sb, name + "_count", labels, Long.toString(h.count()));
+            }
+        }
+        return sb.toString();
+    }
+
+    private static void sample(StringBuilder sb, String name, String labels, String value) {
+        sb.append(name);
+        if (!labels.isEmpty()) sb.append('{').append(labels).append('}');
+        sb.append(' ').append(value).append('\n');
+    }
+
+    private static String seconds(long nanos) {
+        return Double.toString(nanos / 1e9);
+    }
+}
@@ -0,0 +1,48 @@
+package edu.uca.registration.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+// A repository load or save, or a whole-service loadAllData/saveAllData (store "all")
+@Name("edu.uca.registration.Persistence")
+@Label("Persistence")
+@Category({"UCA Registration", "Persistence"})
+@Description("A load or save of registration data")
+@StackTrace(false)
+public class PersistenceEvent extends jdk.jfr.Event {
+    @Label("Store")
+    public String store;
+
+    @Label("Operation")
+    public String operation;
+
+    @Label("Path")
+    public String path;
+
+    @Label("Records")
+    public int records;
+
+    @Label("Bytes Written")
+    @DataAmount
+    public long bytesWritten;
+
+    @Label("Succeeded")
+    public boolean succeeded;
+
+    // Ends the event and commits it if a recording wants it
+    public void finish(String store, String operation, String path, int records, long bytesWritten, boolean succeeded) {
+        end();
+        if (!shouldCommit()) return;
+        this.store = store;
+        this.operation = operation;
+        this.path = path;
+        this.records = records;
+        this.bytesWritten = bytesWritten;
+        this.succeeded = succeeded;
+        commit();
+    }
+}
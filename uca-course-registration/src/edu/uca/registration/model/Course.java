@@ -6,8 +6,10 @@ import java.util.List;
 public class Course {
     public String code, title;
     public int capacity;
-    public List<String> roster = new ArrayList<>();
-    public List<String> waitlist = new ArrayList<>();
+    public MeetingTime meetingTime; // null = TBA
+    public List<String> prerequisites = new ArrayList<>(); // course codes
+    public SeatSet roster = new SeatSet();
+    public Waitlist waitlist = new Waitlist();
 
     public Course(String code, String title, int capacity) {
         this.code = code;
@@ -15,8 +17,14 @@ public class Course {
         this.capacity = capacity;
     }
 
+    // Changes whenever the roster or waitlist does; compare under the course lock
+    public long changeCount() {
+        return (long) roster.modifications() + waitlist.modifications();
+    }
+
     public String toString() {
         return code + " " + title + " cap=" + capacity +
+                (meetingTime == null ? "" : " " + meetingTime) +
                 " enrolled=" + roster.size() + " wait=" + waitlist.size();
     }
 }
\ No newline at end of file
@@ -0,0 +1,81 @@
+package edu.uca.registration.model;
+
+import java.util.Arrays;
+
+// Open-addressing int -> int map (linear probing, backward-shift deletion); -1 means absent.
+final class IntIndex {
+    private int[] keys = new int[16];
+    private int[] values = new int[16];
+    private int size;
+
+    IntIndex() {
+        Arrays.fill(keys, -1);
+    }
+
+    int get(int key) {
+        int mask = keys.length - 1;
+        for (int i = mix(key) & mask; keys[i] != -1; i = (i + 1) & mask) {
+            if (keys[i] == key) return values[i];
+        }
+        return -1;
+    }
+
+    void put(int key, int value) {
+        if ((size + 1) * 2 > keys.length) resize(keys.length * 2);
+        int mask = keys.length - 1;
+        int i = mix(key) & mask;
+        while (keys[i] != -1 && keys[i] != key) i = (i + 1) & mask;
+        if (keys[i] == -1) size++;
+        keys[i] = key;
+        values[i] = value;
+    }
+
+    int remove(int key) {
+        int mask = keys.length - 1;
+        int i = mix(key) & mask;
+        while (keys[i] != key) {
+            if (keys[i] == -1) return -1;
+            i = (i + 1) & mask;
+        }
+        int removed = values[i];
+        // Pull later entries of the probe run back so lookups never hit a gap
+        for (int j = (i + 1) & mask; keys[j] != -1; j = (j + 1) & mask) {
+            int home = mix(keys[j]) & mask;
+            if (((j - home) & mask) >= ((j - i) & mask)) {
+                keys[i] = keys[j];
+                values[i] = values[j];
+                i = j;
+            }
+        }
+        keys[i] = -1;
+        size--;
+        return removed;
+    }
+
+    int size() {
+        return size;
+    }
+
+    void clear() {
+        keys = new int[16];
+        values = new int[16];
+        Arrays.fill(keys, -1);
+        size = 0;
+    }
+
+    private void resize(int capacity) {
+        int[] oldKeys = keys, oldValues = values;
+        keys = new int[capacity];
+        values = new int[capacity];
+        Arrays.fill(keys, -1);
+        size = 0;
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != -1) put(oldKeys[i], oldValues[i]);
+        }
+    }
+
+    private static int mix(int key) {
+        int h = key * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+}
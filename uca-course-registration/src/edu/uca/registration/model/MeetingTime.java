@@ -0,0 +1,69 @@
+package edu.uca.registration.model;
+
+// Weekly meeting pattern such as "MWF 09:00-09:50" (days M T W R F S U, end exclusive).
+public class MeetingTime {
+    private static final String DAYS = "MTWRFSU";
+    public static final int SLOT_MINUTES = 5;
+    public static final int SLOTS_PER_DAY = 24 * 60 / SLOT_MINUTES;
+    public static final int WEEK_WORDS = (7 * SLOTS_PER_DAY + 63) / 64;
+
+    public final int days; // bit 0 = Monday
+    public final int start, end; // minutes since midnight
+
+    public MeetingTime(int days, int start, int end) {
+        if (days <= 0 || days >= 1 << 7) throw new IllegalArgumentException("Meeting time needs at least one day");
+        if (start < 0 || end > 24 * 60 || start >= end) throw new IllegalArgumentException("Meeting time must end after it starts");
+        this.days = days;
+        this.start = start;
+        this.end = end;
+    }
+
+    public static MeetingTime parse(String text) {
+        String[] parts = text.trim().toUpperCase().split("\\s+");
+        String[] range = parts.length == 2 ? parts[1].split("-") : new String[0];
+        if (range.length != 2) throw new IllegalArgumentException("Meeting time must look like MWF 09:00-09:50");
+        int days = 0;
+        for (char d : parts[0].toCharArray()) {
+            int bit = DAYS.indexOf(d);
+            if (bit < 0) throw new IllegalArgumentException("Unknown meeting day: " + d);
+            days |= 1 << bit;
+        }
+        return new MeetingTime(days, minutes(range[0]), minutes(range[1]));
+    }
+
+    private static int minutes(String hhmm) {
+        String[] hm = hhmm.split(":");
+        try {
+            int h = Integer.parseInt(hm[0]), m = hm.length == 2 ? Integer.parseInt(hm[1]) : -1;
+            if (hm.length != 2 || h < 0 || h > 24 || m < 0 || m > 59) throw new NumberFormatException();
+            return h * 60 + m;
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid time: " + hhmm);
+        }
+    }
+
+    public boolean overlaps(MeetingTime other) {
+        return (days & other.days) != 0 && start < other.end && other.start < end;
+    }
+
+    // Week as SLOT_MINUTES slots; any slot the meeting touches is set
+    public long[] slotMask() {
+        long[] mask = new long[WEEK_WORDS];
+        int first = start / SLOT_MINUTES, last = (end + SLOT_MINUTES - 1) / SLOT_MINUTES;
+        for (int day = 0; day < 7; day++) {
+            if ((days & (1 << day)) == 0) continue;
+            for (int slot = day * SLOTS_PER_DAY + first; slot < day * SLOTS_PER_DAY + last; slot++) {
+                mask[slot >>> 6] |= 1L << slot;
+            }
+        }
+        return mask;
+    }
+
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        for (int day = 0; day < 7; day++) {
+            if ((days & (1 << day)) != 0) sb.append(DAYS.charAt(day));
+        }
+        return sb.append(' ').append(String.format("%02d:%02d-%02d:%02d", start / 60, start % 60, end / 60, end % 60)).toString();
+    }
+}
@@ -0,0 +1,285 @@
+package edu.uca.registration.model;
+
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+
+/**
+ * Compressed bitmap of StudentIds ordinals, roaring style: values are split by
+ * their high 16 bits into containers, each a sorted char array while it holds at
+ * most 4096 values and a 1024-word bitmap beyond that. Set algebra works container
+ * by container, so intersecting two rosters never touches unrelated ranges.
+ */
+public class RosterBitmap {
+    private static final int ARRAY_MAX = 4096;
+    private static final int WORDS = 1024;
+
+    // Parallel per container: high bits (sorted), char[] or long[] payload, cardinality
+    private char[] keys = new char[4];
+    private Object[] containers = new Object[4];
+    private int[] cards = new int[4];
+    private int size;
+
+    public boolean add(int ordinal) {
+        char hi = (char) (ordinal >>> 16), lo = (char) ordinal;
+        int i = Arrays.binarySearch(keys, 0, size, hi);
+        if (i < 0) {
+            i = -i - 1;
+            insertContainer(i, hi, new char[4], 0);
+        }
+        Object c = containers[i];
+        if (c instanceof long[] bits) {
+            long mask = 1L << lo;
+            if ((bits[lo >>> 6] & mask) != 0) return false;
+            bits[lo >>> 6] |= mask;
+        } else {
+            char[] values = (char[]) c;
+            int card = cards[i];
+            int at = Arrays.binarySearch(values, 0, card, lo);
+            if (at >= 0) return false;
+            at = -at - 1;
+            if (card == ARRAY_MAX) {
+                long[] bits = toBits(values, card);
+                bits[lo >>> 6] |= 1L << lo;
+                containers[i] = bits;
+            } else {
+                if (card == values.length) containers[i] = values = Arrays.copyOf(values, Math.min(card * 2, ARRAY_MAX));
+                System.arraycopy(values, at, values, at + 1, card - at);
+                values[at] = lo;
+            }
+        }
+        cards[i]++;
+        return true;
+    }
+
+    public boolean remove(int ordinal) {
+        if (ordinal < 0) return false;
+        char hi = (char) (ordinal >>> 16), lo = (char) ordinal;
+        int i = Arrays.binarySearch(keys, 0, size, hi);
+        if (i < 0) return false;
+        Object c = containers[i];
+        if (c instanceof long[] bits) {
+            long mask = 1L << lo;
+            if ((bits[lo >>> 6] & mask) == 0) return false;
+            bits[lo >>> 6] &= ~mask;
+            if (cards[i] - 1 == ARRAY_MAX) containers[i] = toValues(bits, ARRAY_MAX);
+        } else {
+            char[] values = (char[]) c;
+            int at = Arrays.binarySearch(values, 0, cards[i], lo);
+            if (at < 0) return false;
+            System.arraycopy(values, at + 1, values, at, cards[i] - at - 1);
+        }
+        if (--cards[i] == 0) removeContainer(i);
+        return true;
+    }
+
+    public boolean contains(int ordinal) {
+        if (ordinal < 0) return false;
+        char hi = (char) (ordinal >>> 16), lo = (char) ordinal;
+        int i = Arrays.binarySearch(keys, 0, size, hi);
+        if (i < 0) return false;
+        Object c = containers[i];
+        if (c instanceof long[] bits) return (bits[lo >>> 6] & (1L << lo)) != 0;
+        return Arrays.binarySearch((char[]) c, 0, cards[i], lo) >= 0;
+    }
+
+    public int cardinality() {
+        int total = 0;
+        for (int i = 0; i < size; i++) total += cards[i];
+        return total;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public RosterBitmap copy() {
+        RosterBitmap r = new RosterBitmap();
+        r.keys = Arrays.copyOf(keys, Math.max(size, 4));
+        r.cards = Arrays.copyOf(cards, Math.max(size, 4));
+        r.containers = new Object[Math.max(size, 4)];
+        for (int i = 0; i < size; i++) {
+            Object c = containers[i];
+            r.containers[i] = c instanceof long[] bits ? bits.clone() : Arrays.copyOf((char[]) c, cards[i]);
+        }
+        r.size = size;
+        return r;
+    }
+
+    public RosterBitmap and(RosterBitmap other) {
+        RosterBitmap r = new RosterBitmap();
+        int i = 0, j = 0;
+        while (i < size && j < other.size) {
+            if (keys[i] < other.keys[j]) {
+                i++;
+            } else if (keys[i] > other.keys[j]) {
+                j++;
+            } else {
+                r.appendAnd(keys[i], containers[i], cards[i], other.containers[j], other.cards[j]);
+                i++;
+                j++;
+            }
+        }
+        return r;
+    }
+
+    public RosterBitmap or(RosterBitmap other) {
+        RosterBitmap r = new RosterBitmap();
+        int i = 0, j = 0;
+        while (i < size || j < other.size) {
+            if (j == other.size || (i < size && keys[i] < other.keys[j])) {
+                r.append(keys[i], copyOf(containers[i], cards[i]), cards[i]);
+                i++;
+            } else if (i == size || keys[i] > other.keys[j]) {
+                r.append(other.keys[j], copyOf(other.containers[j], other.cards[j]), other.cards[j]);
+                j++;
+            } else {
+                r.appendOr(keys[i], containers[i], cards[i], other.containers[j], other.cards[j]);
+                i++;
+                j++;
+            }
+        }
+        return r;
+    }
+
+    // Visits ordinals in ascending order
+    public void forEach(IntConsumer action) {
+        for (int i = 0; i < size; i++) {
+            int base = keys[i] << 16;
+            Object c = containers[i];
+            if (c instanceof long[] bits) {
+                for (int w = 0; w < WORDS; w++) {
+                    for (long word = bits[w]; word != 0; word &= word - 1) {
+                        action.accept(base | (w << 6) | Long.numberOfTrailingZeros(word));
+                    }
+                }
+            } else {
+                char[] values = (char[]) c;
+                for (int k = 0; k < cards[i]; k++) action.accept(base | values[k]);
+            }
+        }
+    }
+
+    public int[] toArray() {
+        int[] out = new int[cardinality()];
+        int[] n = {0};
+        forEach(v -> out[n[0]++] = v);
+        return out;
+    }
+
+    public void clear() {
+        keys = new char[4];
+        containers = new Object[4];
+        cards = new int[4];
+        size = 0;
+    }
+
+    private void appendAnd(char key, Object a, int cardA, Object b, int cardB) {
+        if (a instanceof long[] x && b instanceof long[] y) {
+            long[] bits = new long[WORDS];
+            int card = 0;
+            for (int w = 0; w < WORDS; w++) card += Long.bitCount(bits[w] = x[w] & y[w]);
+            if (card == 0) return;
+            append(key, card <= ARRAY_MAX ? toValues(bits, card) : bits, card);
+        } else if (a instanceof long[] || b instanceof long[]) {
+            long[] bits = (long[]) (a instanceof long[] ? a : b);
+            char[] values = (char[]) (a instanceof long[] ? b : a);
+            int n = a instanceof long[] ? cardB : cardA;
+            char[] out = new char[n];
+            int card = 0;
+            for (int k = 0; k < n; k++) {
+                char v = values[k];
+                if ((bits[v >>> 6] & (1L << v)) != 0) out[card++] = v;
+            }
+            if (card > 0) append(key, out, card);
+        } else {
+            char[] x = (char[]) a, y = (char[]) b;
+            char[] out = new char[Math.min(cardA, cardB)];
+            int card = 0;
+            for (int p = 0, q = 0; p < cardA && q < cardB; ) {
+                if (x[p] < y[q]) p++;
+                else if (x[p] > y[q]) q++;
+                else {
+                    out[card++] = x[p];
+                    p++;
+                    q++;
+                }
+            }
+            if (card > 0) append(key, out, card);
+        }
+    }
+
+    private void appendOr(char key, Object a, int cardA, Object b, int cardB) {
+        if (a instanceof char[] x && b instanceof char[] y && cardA + cardB <= ARRAY_MAX) {
+            char[] out = new char[cardA + cardB];
+            int card = 0, p = 0, q = 0;
+            while (p < cardA || q < cardB) {
+                if (q == cardB || (p < cardA && x[p] < y[q])) out[card++] = x[p++];
+                else if (p == cardA || x[p] > y[q]) out[card++] = y[q++];
+                else {
+                    out[card++] = x[p++];
+                    q++;
+                }
+            }
+            append(key, out, card);
+            return;
+        }
+        long[] bits = a instanceof long[] x ? x.clone() : toBits((char[]) a, cardA);
+        if (b instanceof long[] y) {
+            for (int w = 0; w < WORDS; w++) bits[w] |= y[w];
+        } else {
+            char[] y = (char[]) b;
+            for (int k = 0; k < cardB; k++) bits[y[k] >>> 6] |= 1L << y[k];
+        }
+        int card = 0;
+        for (long word : bits) card += Long.bitCount(word);
+        append(key, card <= ARRAY_MAX ? toValues(bits, card) : bits, card);
+    }
+
+    private static Object copyOf(Object c, int card) {
+        return c instanceof long[] bits ? bits.clone() : Arrays.copyOf((char[]) c, card);
+    }
+
+    private static long[] toBits(char[] values, int card) {
+        long[] bits = new long[WORDS];
+        for (int k = 0; k < card; k++) bits[values[k] >>> 6] |= 1L << values[k];
+        return bits;
+    }
+
+    private static char[] toValues(long[] bits, int card) {
+        char[] values = new char[card];
+        int n = 0;
+        for (int w = 0; w < WORDS; w++) {
+            for (long word = bits[w]; word != 0; word &= word - 1) {
+                values[n++] = (char) ((w << 6) | Long.numberOfTrailingZeros(word));
+            }
+        }
+        return values;
+    }
+
+    // Keys arrive in ascending order from and/or
+    private void append(char key, Object container, int card) {
+        insertContainer(size, key, container, card);
+    }
+
+    private void insertContainer(int i, char key, Object container, int card) {
+        if (size == keys.length) {
+            keys = Arrays.copyOf(keys, size * 2);
+            containers = Arrays.copyOf(containers, size * 2);
+            cards = Arrays.copyOf(cards, size * 2);
+        }
+        System.arraycopy(keys, i, keys, i + 1, size - i);
+        System.arraycopy(containers, i, containers, i + 1, size - i);
+        System.arraycopy(cards, i, cards, i + 1, size - i);
+        keys[i] = key;
+        containers[i] = container;
+        cards[i] = card;
+        size++;
+    }
+
+    private void removeContainer(int i) {
+        System.arraycopy(keys, i + 1, keys, i, size - i - 1);
+        System.arraycopy(containers, i + 1, containers, i, size - i - 1);
+        System.arraycopy(cards, i + 1, cards, i, size - i - 1);
+        containers[--size] = null;
+    }
+}
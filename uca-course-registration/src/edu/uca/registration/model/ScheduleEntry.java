@@ -0,0 +1,17 @@
+package edu.uca.registration.model;
+
+public class ScheduleEntry {
+    public final String courseCode;
+    public final boolean waitlisted;
+    public final int waitlistPosition;
+
+    public ScheduleEntry(String courseCode, boolean waitlisted, int waitlistPosition) {
+        this.courseCode = courseCode;
+        this.waitlisted = waitlisted;
+        this.waitlistPosition = waitlistPosition;
+    }
+
+    public String toString() {
+        return waitlisted ? courseCode + " WAITLIST #" + waitlistPosition : courseCode + " ENROLLED";
+    }
+}
@@ -0,0 +1,108 @@
+package edu.uca.registration.model;
+
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+// Enrolled students as StudentIds ordinals: a RosterBitmap answers membership and set
+// queries, an int array keeps enrollment order. The String view translates through the dictionary.
+public class SeatSet extends AbstractSet<String> {
+    private final RosterBitmap members = new RosterBitmap();
+    private int[] order = new int[8];
+    private int size;
+    private int modCount;
+
+    public boolean addId(int ordinal) {
+        if (!members.add(ordinal)) return false;
+        if (size == order.length) order = Arrays.copyOf(order, size * 2);
+        order[size++] = ordinal;
+        modCount++;
+        return true;
+    }
+
+    public boolean containsId(int ordinal) {
+        return members.contains(ordinal);
+    }
+
+    // Rosters are bounded by course capacity, so the order shift stays cheap
+    public boolean removeId(int ordinal) {
+        if (!members.remove(ordinal)) return false;
+        int i = 0;
+        while (order[i] != ordinal) i++;
+        System.arraycopy(order, i + 1, order, i, size - i - 1);
+        size--;
+        modCount++;
+        return true;
+    }
+
+    // Bumped by every change, never reset
+    public int modifications() {
+        return modCount;
+    }
+
+    // Snapshot for set algebra across courses; callers hold the course lock
+    public RosterBitmap toBitmap() {
+        return members.copy();
+    }
+
+    @Override
+    public boolean add(String studentId) {
+        return addId(StudentIds.intern(studentId));
+    }
+
+    @Override
+    public boolean contains(Object studentId) {
+        return containsId(StudentIds.lookup(studentId));
+    }
+
+    @Override
+    public boolean remove(Object studentId) {
+        return removeId(StudentIds.lookup(studentId));
+    }
+
+    @Override
+    public Iterator<String> iterator() {
+        return new Iterator<>() {
+            private int next;
+            private boolean removable;
+            private int expected = modCount;
+
+            @Override
+            public boolean hasNext() {
+                return next < size;
+            }
+
+            @Override
+            public String next() {
+                if (expected != modCount) throw new ConcurrentModificationException();
+                if (next >= size) throw new NoSuchElementException();
+                removable = true;
+                return StudentIds.idOf(order[next++]);
+            }
+
+            @Override
+            public void remove() {
+                if (!removable) throw new IllegalStateException();
+                if (expected != modCount) throw new ConcurrentModificationException();
+                removeId(order[--next]);
+                removable = false;
+                expected = modCount;
+            }
+        };
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public void clear() {
+        members.clear();
+        order = new int[8];
+        size = 0;
+        modCount++;
+    }
+}
@@ -1,7 +1,12 @@
 package edu.uca.registration.model;
 
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
 public class Student {
     public String id, name, email;
+    // Codes of courses the student has passed, for prerequisite checks
+    public Set<String> completedCourses = ConcurrentHashMap.newKeySet();
 
     public Student(String id, String name, String email) {
         this.id = id;
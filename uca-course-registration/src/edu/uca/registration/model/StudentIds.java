@@ -0,0 +1,40 @@
+package edu.uca.registration.model;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Process-wide dictionary of banner IDs to dense ints, so rosters can hold primitives.
+// Ordinals are assigned on first sight and never reused.
+public final class StudentIds {
+    private static final Map<String, Integer> ordinals = new ConcurrentHashMap<>();
+    private static volatile String[] ids = new String[1024];
+    private static int count;
+
+    private StudentIds() {}
+
+    public static int intern(String studentId) {
+        Integer ordinal = ordinals.get(studentId);
+        if (ordinal != null) return ordinal;
+        synchronized (StudentIds.class) {
+            ordinal = ordinals.get(studentId);
+            if (ordinal != null) return ordinal;
+            String[] a = ids;
+            if (count == a.length) a = Arrays.copyOf(a, count * 2);
+            a[count] = studentId;
+            ids = a;
+            ordinals.put(studentId, count);
+            return count++;
+        }
+    }
+
+    // Ordinal of a known ID, or -1; never grows the dictionary
+    public static int lookup(Object studentId) {
+        Integer ordinal = ordinals.get(studentId);
+        return ordinal == null ? -1 : ordinal;
+    }
+
+    public static String idOf(int ordinal) {
+        return ids[ordinal];
+    }
+}
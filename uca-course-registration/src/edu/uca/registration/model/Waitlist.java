@@ -0,0 +1,199 @@
+package edu.uca.registration.model;
+
+import java.util.AbstractCollection;
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+// FIFO queue of StudentIds ordinals with O(1) append, head removal, membership and removal
+// by ID. Nodes live in parallel int arrays (doubly linked, recycled through a free list);
+// positions are answered in O(log n) from a Fenwick tree over arrival order.
+public class Waitlist extends AbstractCollection<String> {
+    private static final int NONE = -1;
+
+    // Per node: student ordinal, neighbours and arrival slot
+    private int[] ids = new int[16], prev = new int[16], next = new int[16], slots = new int[16];
+    private int freeNode = NONE, usedNodes;
+    private final IntIndex index = new IntIndex();
+    private int head = NONE, tail = NONE;
+    private int modCount;
+    // live[slot] counts present in Fenwick form; slots are handed out in arrival order
+    private int[] live = new int[16];
+    private int nextSlot;
+
+    public boolean addId(int ordinal) {
+        if (index.get(ordinal) != NONE) return false;
+        int n = allocate();
+        ids[n] = ordinal;
+        if (nextSlot == live.length) renumber();
+        slots[n] = nextSlot++;
+        bump(slots[n], 1);
+        index.put(ordinal, n);
+        prev[n] = tail;
+        next[n] = NONE;
+        if (tail == NONE) head = n; else next[tail] = n;
+        tail = n;
+        modCount++;
+        return true;
+    }
+
+    public boolean containsId(int ordinal) {
+        return ordinal >= 0 && index.get(ordinal) != NONE;
+    }
+
+    public boolean removeId(int ordinal) {
+        if (ordinal < 0) return false;
+        int n = index.remove(ordinal);
+        if (n == NONE) return false;
+        unlink(n);
+        return true;
+    }
+
+    public int getFirstId() {
+        if (head == NONE) throw new NoSuchElementException();
+        return ids[head];
+    }
+
+    public int removeFirstId() {
+        int ordinal = getFirstId();
+        index.remove(ordinal);
+        unlink(head);
+        return ordinal;
+    }
+
+    // 1-based position in the queue, or -1 if the student is not waitlisted
+    public int positionOfId(int ordinal) {
+        int n = ordinal < 0 ? NONE : index.get(ordinal);
+        if (n == NONE) return -1;
+        int sum = 0;
+        for (int i = slots[n] + 1; i > 0; i -= i & -i) sum += live[i - 1];
+        return sum;
+    }
+
+    @Override
+    public boolean add(String studentId) {
+        return addId(StudentIds.intern(studentId));
+    }
+
+    @Override
+    public boolean contains(Object studentId) {
+        return containsId(StudentIds.lookup(studentId));
+    }
+
+    @Override
+    public boolean remove(Object studentId) {
+        return removeId(StudentIds.lookup(studentId));
+    }
+
+    public String getFirst() {
+        return StudentIds.idOf(getFirstId());
+    }
+
+    public String removeFirst() {
+        return StudentIds.idOf(removeFirstId());
+    }
+
+    public int positionOf(String studentId) {
+        return positionOfId(StudentIds.lookup(studentId));
+    }
+
+    private int allocate() {
+        if (freeNode != NONE) {
+            int n = freeNode;
+            freeNode = next[n];
+            return n;
+        }
+        if (usedNodes == ids.length) {
+            int capacity = usedNodes * 2;
+            ids = Arrays.copyOf(ids, capacity);
+            prev = Arrays.copyOf(prev, capacity);
+            next = Arrays.copyOf(next, capacity);
+            slots = Arrays.copyOf(slots, capacity);
+        }
+        return usedNodes++;
+    }
+
+    private void bump(int slot, int delta) {
+        for (int i = slot + 1; i <= live.length; i += i & -i) live[i - 1] += delta;
+    }
+
+    // Compacts slots to 0..size-1, growing the tree only when the queue itself has grown
+    private void renumber() {
+        int capacity = live.length;
+        while (index.size() * 2 >= capacity) capacity *= 2;
+        live = new int[capacity];
+        nextSlot = 0;
+        for (int n = head; n != NONE; n = next[n]) {
+            slots[n] = nextSlot++;
+            bump(slots[n], 1);
+        }
+    }
+
+    private void unlink(int n) {
+        bump(slots[n], -1);
+        if (prev[n] == NONE) head = next[n]; else next[prev[n]] = next[n];
+        if (next[n] == NONE) tail = prev[n]; else prev[next[n]] = prev[n];
+        next[n] = freeNode;
+        freeNode = n;
+        modCount++;
+    }
+
+    // Bumped by every change, never reset
+    public int modifications() {
+        return modCount;
+    }
+
+    @Override
+    public int size() {
+        return index.size();
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return head == NONE;
+    }
+
+    @Override
+    public void clear() {
+        index.clear();
+        head = tail = freeNode = NONE;
+        usedNodes = 0;
+        live = new int[16];
+        nextSlot = 0;
+        modCount++;
+    }
+
+    @Override
+    public Iterator<String> iterator() {
+        return new Iterator<>() {
+            private int cursor = head;
+            private int last = NONE;
+            private int expected = modCount;
+
+            @Override
+            public boolean hasNext() {
+                return cursor != NONE;
+            }
+
+            @Override
+            public String next() {
+                if (expected != modCount) throw new ConcurrentModificationException();
+                if (cursor == NONE) throw new NoSuchElementException();
+                last = cursor;
+                cursor = Waitlist.this.next[cursor];
+                return StudentIds.idOf(ids[last]);
+            }
+
+            @Override
+            public void remove() {
+                if (last == NONE) throw new IllegalStateException();
+                if (expected != modCount) throw new ConcurrentModificationException();
+                index.remove(ids[last]);
+                unlink(last);
+                last = NONE;
+                expected = modCount;
+            }
+        };
+    }
+}
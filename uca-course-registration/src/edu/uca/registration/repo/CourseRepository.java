@@ -10,4 +10,7 @@ public interface CourseRepository {
     List<Course> findAll();
     boolean existsByCode(String code);
     Map<String, Course> getAllCoursesMap();
+
+    // Blocks until every save so far is written; repositories that write on save have nothing to do.
+    default void flush() {}
 }
\ No newline at end of file
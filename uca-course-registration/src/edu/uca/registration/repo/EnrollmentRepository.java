@@ -1,6 +1,15 @@
 package edu.uca.registration.repo;
 
 public interface EnrollmentRepository {
+    enum Mutation { ENROLL, WAITLIST, DROP, PROMOTE }
+
     void loadEnrollments();
     void saveEnrollments();
-}
\ No newline at end of file
+
+    // Journaling hooks called by the service after each roster change.
+    default void recordChange(Mutation mutation, String courseCode, String studentId) {}
+    default void recordPromotion(String courseCode, String droppedId, String promotedId) {}
+
+    // Blocks until every change recorded so far is durable.
+    default void flush() {}
+}
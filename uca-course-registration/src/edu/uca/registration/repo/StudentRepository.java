@@ -10,4 +10,7 @@ public interface StudentRepository {
     List<Student> findAll();
     boolean existsById(String bannerId);
     Map<String, Student> getAllStudentsMap();
+
+    // Blocks until every save so far is written; repositories that write on save have nothing to do.
+    default void flush() {}
 }
\ No newline at end of file
@@ -0,0 +1,221 @@
+package edu.uca.registration.repo.impl;
+
+import edu.uca.registration.metrics.Counter;
+import edu.uca.registration.metrics.Metrics;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.CRC32;
+
+/**
+ * Replaces a text file without ever exposing a partial one. Text is UTF-8 encoded into
+ * a large direct buffer and streamed through a FileChannel into a temp sibling;
+ * {@link #commit} appends a trailer line with the record count and CRC32 of everything
+ * before it, forces the file to disk and renames it over the target. Closing without
+ * committing deletes the temp file and leaves the target as it was.
+ *
+ * Trailer: "#!checksum records=N crc32=XXXXXXXX". It contains no delimiter, so readers
+ * that predate it see a short row and skip it; {@link #verify} checks it on startup, and
+ * a file that fails the check is moved aside rather than loaded and later overwritten.
+ */
+public class AtomicFileWriter extends Writer {
+    static final String TRAILER = "#!checksum";
+    private static final int BUFFER_SIZE = 1 << 20;
+    private static final int CHUNK = 8192;
+
+    public enum Integrity { VERIFIED, UNSEALED, CORRUPT }
+
+    private final Path target;
+    private final Path tmp;
+    private final FileChannel channel;
+    private final Counter bytes, fsyncs;
+    private final CharsetEncoder encoder = StandardCharsets.UTF_8.newEncoder();
+    private final ByteBuffer out = ByteBuffer.allocateDirect(BUFFER_SIZE);
+    private final CharBuffer pending = CharBuffer.allocate(CHUNK);
+    private final CRC32 crc = new CRC32();
+    private long records, written;
+    private boolean committed, closed;
+
+    private AtomicFileWriter(Path target, String store) throws IOException {
+        this.target = target;
+        this.tmp = target.resolveSibling(target.getFileName() + ".tmp");
+        this.channel = FileChannel.open(tmp, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING);
+        this.bytes = Metrics.bytesWritten(store);
+        this.fsyncs = Metrics.fsyncs(store);
+    }
+
+    // store labels the bytes and fsyncs in the persistence metrics
+    public static AtomicFileWriter open(Path target, String store) throws IOException {
+        return new AtomicFileWriter(target, store);
+    }
+
+    @Override
+    public void write(int c) throws IOException {
+        if (!pending.hasRemaining()) encodePending(false);
+        pending.put((char) c);
+        if (c == '\n') records++;
+    }
+
+    @Override
+    public void write(char[] cbuf, int off, int len) throws IOException {
+        for (int i = off; i < off + len; i++) write(cbuf[i]);
+    }
+
+    @Override
+    public void write(String s, int off, int len) throws IOException {
+        for (int i = off; i < off + len; i++) write(s.charAt(i));
+    }
+
+    private void encodePending(boolean endOfInput) throws IOException {
+        pending.flip();
+        while (true) {
+            CoderResult result = encoder.encode(pending, out, endOfInput);
+            if (result.isOverflow()) drain();
+            else if (result.isUnderflow()) break;
+            else result.throwException();
+        }
+        // A surrogate pair split across chunks stays behind for the next round
+        pending.compact();
+    }
+
+    private void drain() throws IOException {
+        out.flip();
+        crc.update(out.duplicate());
+        while (out.hasRemaining()) written += channel.write(out);
+        out.clear();
+    }
+
+    // Pushes buffered text into the temp file; nothing is visible at the target until commit()
+    @Override
+    public void flush() throws IOException {
+        encodePending(false);
+        drain();
+    }
+
+    public long records() {
+        return records;
+    }
+
+    public long bytesWritten() {
+        return written;
+    }
+
+    public void commit() throws IOException {
+        if (closed) throw new IOException("Writer already closed");
+        encodePending(true);
+        drain();
+        long checksum = crc.getValue();
+        byte[] trailer = trailer(records, checksum).getBytes(StandardCharsets.UTF_8);
+        ByteBuffer tail = ByteBuffer.wrap(trailer);
+        while (tail.hasRemaining()) written += channel.write(tail);
+        channel.force(true);
+        fsyncs.increment();
+        channel.close();
+        closed = true;
+        Files.move(tmp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        syncDirectory(target.toAbsolutePath().getParent());
+        committed = true;
+        bytes.add(written);
+    }
+
+    // Makes a rename in dir survive a crash; platforms that cannot open directories skip it
+    static void syncDirectory(Path dir) {
+        try (FileChannel ch = FileChannel.open(dir, StandardOpenOption.READ)) {
+            ch.force(true);
+        } catch (IOException e) {
+            return;
+        }
+    }
+
+    private static String trailer(long records, long crc) {
+        return TRAILER + " records=" + records + " crc32=" + String.format("%08x", crc) + "\n";
+    }
+
+    // Abandons the temp file unless commit() succeeded
+    @Override
+    public void close() throws IOException {
+        if (!closed) {
+            closed = true;
+            channel.close();
+        }
+        if (!committed) Files.deleteIfExists(tmp);
+    }
+
+    // Checks the trailer against the file's contents; files written before trailers existed, or
+    // appended to since, are UNSEALED
+    public static Integrity verify(Path file) throws IOException {
+        try (FileChannel ch = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = ch.size();
+            int tailLength = (int) Math.min(size, 128);
+            ByteBuffer tail = ByteBuffer.allocate(tailLength);
+            while (tail.hasRemaining()) {
+                if (ch.read(tail, size - tailLength + tail.position()) < 0) return Integrity.CORRUPT;
+            }
+            String text = new String(tail.array(), StandardCharsets.UTF_8);
+            int start = text.lastIndexOf('\n', text.length() - 2) + 1;
+            if (!text.endsWith("\n") || !text.startsWith(TRAILER, start)) return Integrity.UNSEALED;
+            long contentLength = size - (text.length() - start);
+
+            CRC32 crc = new CRC32();
+            long records = 0;
+            ByteBuffer buf = ByteBuffer.allocateDirect(BUFFER_SIZE);
+            for (long pos = 0; pos < contentLength; ) {
+                buf.clear().limit((int) Math.min(buf.capacity(), contentLength - pos));
+                int n = ch.read(buf, pos);
+                if (n < 0) return Integrity.CORRUPT;
+                buf.flip();
+                for (int i = 0; i < n; i++) {
+                    if (buf.get(i) == '\n') records++;
+                }
+                crc.update(buf);
+                pos += n;
+            }
+            String expected = trailer(records, crc.getValue());
+            return text.substring(start).equals(expected) ? Integrity.VERIFIED : Integrity.CORRUPT;
+        }
+    }
+
+    // Startup check used by the loaders. A damaged file is renamed to <name>.corrupt and
+    // false returned, so the loader skips it and no later save overwrites the evidence.
+    // If it cannot be moved aside, loading stops with an exception instead.
+    static boolean checkIntegrity(Path file, String store) {
+        String problem;
+        try {
+            if (verify(file) != Integrity.CORRUPT) return true;
+            problem = "contents do not match its checksum trailer";
+        } catch (IOException e) {
+            problem = e.getMessage();
+        }
+        Metrics.failures(store, "verify").increment();
+        Path quarantine = quarantinePath(file);
+        try {
+            Files.move(file, quarantine);
+            syncDirectory(file.toAbsolutePath().getParent());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed integrity check of " + file + " (" + problem
+                    + ") and could not move it aside: " + e.getMessage(), e);
+        }
+        System.out.println("Failed integrity check of " + file + ": " + problem + "; moved to " + quarantine);
+        return false;
+    }
+
+    // <name>.corrupt, or <name>.corrupt.N when earlier quarantined copies exist
+    private static Path quarantinePath(Path file) {
+        Path candidate = file.resolveSibling(file.getFileName() + ".corrupt");
+        for (int n = 1; Files.exists(candidate); n++) {
+            candidate = file.resolveSibling(file.getFileName() + ".corrupt." + n);
+        }
+        return candidate;
+    }
+}
@@ -0,0 +1,97 @@
+package edu.uca.registration.repo.impl;
+
+import edu.uca.registration.model.Course;
+import edu.uca.registration.model.MeetingTime;
+import edu.uca.registration.repo.CourseRepository;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+
+// Same behavior as CsvCourseRepository over courses.bin (see BinaryRecordWriter).
+public class BinaryCourseRepository implements CourseRepository {
+    static final byte KIND = 'C';
+    private static final String COURSES_BIN = "courses.bin";
+    private final String coursesFile;
+    // Copy-on-write: readers never lock, writers publish a new map
+    private volatile Map<String, Course> courses = new LinkedHashMap<>();
+
+    public BinaryCourseRepository() {
+        this(COURSES_BIN);
+    }
+
+    public BinaryCourseRepository(String coursesFile) {
+        this.coursesFile = coursesFile;
+        loadCourses();
+    }
+
+    private void loadCourses() {
+        Path path = Path.of(coursesFile);
+        if (!Files.exists(path)) return;
+        try (var reader = BinaryRecordReader.open(path, KIND)) {
+            Map<String, Course> loaded = new LinkedHashMap<>(reader.recordCount() * 4 / 3 + 1);
+            while (reader.next()) {
+                String code = reader.string();
+                String title = reader.string();
+                Course course = new Course(code, title, reader.varint());
+                String meetingTime = reader.hasMoreFields() ? reader.string() : "";
+                if (!meetingTime.isEmpty()) course.meetingTime = MeetingTime.parse(meetingTime);
+                if (reader.hasMoreFields()) {
+                    for (int n = reader.varint(); n > 0; n--) course.prerequisites.add(reader.string());
+                }
+                loaded.put(code, course);
+            }
+            courses = loaded;
+        } catch (Exception e) {
+            System.out.println("Failed load courses: " + e.getMessage());
+        }
+    }
+
+    static void writeCourses(Path target, Collection<Course> courses) throws IOException {
+        var out = new BinaryRecordWriter(KIND);
+        for (Course c : courses) {
+            out.string(c.code).string(c.title).varint(c.capacity);
+            if (c.meetingTime != null || !c.prerequisites.isEmpty()) {
+                out.string(c.meetingTime == null ? "" : c.meetingTime.toString());
+            }
+            if (!c.prerequisites.isEmpty()) {
+                out.varint(c.prerequisites.size());
+                for (String p : c.prerequisites) out.string(p);
+            }
+            out.endRecord();
+        }
+        out.write(target);
+    }
+
+    @Override
+    public synchronized void save(Course course) {
+        Map<String, Course> next = new LinkedHashMap<>(courses);
+        next.put(course.code, course);
+        courses = next;
+        try {
+            writeCourses(Path.of(coursesFile), next.values());
+        } catch (Exception e) {
+            System.out.println("Failed save courses: " + e.getMessage());
+        }
+    }
+
+    @Override
+    public Course findByCode(String code) {
+        return courses.get(code);
+    }
+
+    @Override
+    public List<Course> findAll() {
+        return new ArrayList<>(courses.values());
+    }
+
+    @Override
+    public boolean existsByCode(String code) {
+        return courses.containsKey(code);
+    }
+
+    @Override
+    public Map<String, Course> getAllCoursesMap() {
+        return Collections.unmodifiableMap(courses);
+    }
+}
@@ -0,0 +1,60 @@
+package edu.uca.registration.repo.impl;
+
+import edu.uca.registration.model.Course;
+import edu.uca.registration.repo.CourseRepository;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * Journaling and checkpointing as in CsvEnrollmentRepository, with the snapshot
+ * stored as one binary record per course: its code, then the roster and the
+ * waitlist as a count followed by student ordinals into the string table.
+ */
+public class BinaryEnrollmentRepository extends CsvEnrollmentRepository {
+    static final byte KIND = 'E';
+    private static final String ENROLLMENTS_BIN = "enrollments.bin";
+    private static final String ENROLLMENTS_BIN_LOG = "enrollments.bin.log";
+
+    public BinaryEnrollmentRepository(CourseRepository courseRepository) {
+        this(courseRepository, ENROLLMENTS_BIN, ENROLLMENTS_BIN_LOG);
+    }
+
+    public BinaryEnrollmentRepository(CourseRepository courseRepository, String enrollmentsFile, String logFile) {
+        super(courseRepository, enrollmentsFile, logFile);
+    }
+
+    @Override
+    protected void readSnapshot(Path f, Map<String, Course> courses, boolean addMissing) {
+        if (!Files.exists(f)) return;
+        try (var reader = BinaryRecordReader.open(f, KIND)) {
+            while (reader.next()) {
+                String code = reader.string();
+                var course = addMissing ? courses.computeIfAbsent(code, k -> new Course(k, "", 0)) : courses.get(code);
+                if (course == null) continue;
+                for (int n = reader.varint(); n > 0; n--) course.roster.add(reader.string());
+                for (int n = reader.varint(); n > 0; n--) course.waitlist.add(reader.string());
+            }
+        } catch (Exception e) {
+            System.out.println("Failed load enrollments: " + e.getMessage());
+        }
+    }
+
+    @Override
+    protected void writeSnapshot(Path target, Collection<Course> courses) throws IOException {
+        var out = new BinaryRecordWriter(KIND);
+        for (var course : courses) {
+            synchronized (course) {
+                if (course.roster.isEmpty() && course.waitlist.isEmpty()) continue;
+                out.string(course.code).varint(course.roster.size());
+                for (String sid : course.roster) out.string(sid);
+                out.varint(course.waitlist.size());
+                for (String sid : course.waitlist) out.string(sid);
+                out.endRecord();
+            }
+        }
+        out.write(target);
+    }
+}
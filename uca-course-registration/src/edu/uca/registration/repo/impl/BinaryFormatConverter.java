@@ -0,0 +1,36 @@
+package edu.uca.registration.repo.impl;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+// One-off migration of the CSV data files in a directory to their binary equivalents.
+public final class BinaryFormatConverter {
+    private BinaryFormatConverter() {}
+
+    public static void convert(Path dir) throws IOException {
+        var students = new CsvStudentRepository(dir.resolve("students.csv").toString());
+        BinaryStudentRepository.writeStudents(dir.resolve("students.bin"), students.findAll());
+
+        var courses = new CsvCourseRepository(dir.resolve("courses.csv").toString());
+        BinaryCourseRepository.writeCourses(dir.resolve("courses.bin"), courses.findAll());
+
+        // Loading through the CSV repository folds in its journal as well
+        new CsvEnrollmentRepository(courses, dir.resolve("enrollments.csv").toString(),
+                dir.resolve("enrollments.log").toString()).loadEnrollments();
+        Path binLog = dir.resolve("enrollments.bin.log");
+        new BinaryEnrollmentRepository(courses, dir.resolve("enrollments.bin").toString(), binLog.toString())
+                .writeSnapshot(dir.resolve("enrollments.bin"), courses.findAll());
+        // A journal left by an earlier binary run no longer matches the new snapshot
+        Files.deleteIfExists(binLog);
+        Files.deleteIfExists(binLog.resolveSibling(binLog.getFileName() + ".old"));
+
+        for (String name : new String[]{"students", "courses", "enrollments"}) {
+            Path csv = dir.resolve(name + ".csv"), bin = dir.resolve(name + ".bin");
+            if (Files.exists(csv)) {
+                System.out.println("Converted " + csv.getFileName() + " (" + Files.size(csv) + " bytes) to "
+                        + bin.getFileName() + " (" + Files.size(bin) + " bytes)");
+            }
+        }
+    }
+}
@@ -0,0 +1,139 @@
+package edu.uca.registration.repo.impl;
+
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Reads files written by {@link BinaryRecordWriter} with sequential buffered reads.
+ * The string table is decoded once up front; {@link #string} then resolves an
+ * ordinal to the shared String instance. Fields a newer writer appended to a
+ * record are skipped, since every record carries its length.
+ */
+public class BinaryRecordReader implements Closeable {
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final ReadableByteChannel channel;
+    private final ByteBuffer buf = ByteBuffer.allocate(BUFFER_SIZE).flip();
+    private final String[] strings;
+    private int remaining;
+
+    private byte[] record = new byte[256];
+    private int recordPos, recordLength;
+
+    public BinaryRecordReader(ReadableByteChannel channel, byte kind) throws IOException {
+        this.channel = channel;
+        int magic = (readByte() & 0xFF) << 24 | (readByte() & 0xFF) << 16 | (readByte() & 0xFF) << 8 | (readByte() & 0xFF);
+        if (magic != BinaryRecordWriter.MAGIC) throw new IOException("Not a binary record file");
+        int version = readByte();
+        if (version < 1 || version > BinaryRecordWriter.VERSION) throw new IOException("Unsupported format version " + version);
+        int actualKind = readByte();
+        if (actualKind != kind) throw new IOException("Expected file kind " + (char) kind + " but found " + (char) actualKind);
+
+        strings = new String[streamVarint()];
+        byte[] scratch = new byte[64];
+        for (int i = 0; i < strings.length; i++) {
+            int len = streamVarint();
+            if (len > scratch.length) scratch = new byte[Math.max(len, scratch.length * 2)];
+            readFully(scratch, len);
+            strings[i] = new String(scratch, 0, len, StandardCharsets.UTF_8);
+        }
+        remaining = streamVarint();
+    }
+
+    public static BinaryRecordReader open(Path path, byte kind) throws IOException {
+        FileChannel ch = FileChannel.open(path, StandardOpenOption.READ);
+        try {
+            return new BinaryRecordReader(ch, kind);
+        } catch (IOException e) {
+            ch.close();
+            throw e;
+        }
+    }
+
+    public int recordCount() {
+        return remaining;
+    }
+
+    public boolean next() throws IOException {
+        if (remaining == 0) return false;
+        int len = streamVarint();
+        if (len > record.length) record = new byte[Math.max(len, record.length * 2)];
+        readFully(record, len);
+        recordPos = 0;
+        recordLength = len;
+        remaining--;
+        return true;
+    }
+
+    // Lets readers accept records both with and without an optional trailing field
+    public boolean hasMoreFields() {
+        return recordPos < recordLength;
+    }
+
+    public int varint() throws IOException {
+        int value = 0;
+        for (int shift = 0; shift < 35; shift += 7) {
+            if (recordPos == recordLength) throw new IOException("Corrupt record: field past end");
+            byte b = record[recordPos++];
+            value |= (b & 0x7F) << shift;
+            if (b >= 0) return value;
+        }
+        throw new IOException("Corrupt record: varint too long");
+    }
+
+    public String string() throws IOException {
+        int ordinal = varint();
+        if (ordinal >= strings.length) throw new IOException("Corrupt record: string " + ordinal + " not in table");
+        return strings[ordinal];
+    }
+
+    private int streamVarint() throws IOException {
+        int value = 0;
+        for (int shift = 0; shift < 35; shift += 7) {
+            byte b = readByte();
+            value |= (b & 0x7F) << shift;
+            if (b >= 0) {
+                if (value < 0) throw new IOException("Corrupt file: negative length");
+                return value;
+            }
+        }
+        throw new IOException("Corrupt file: varint too long");
+    }
+
+    private byte readByte() throws IOException {
+        if (!buf.hasRemaining()) fill();
+        return buf.get();
+    }
+
+    private void readFully(byte[] dst, int len) throws IOException {
+        int off = 0;
+        while (off < len) {
+            if (!buf.hasRemaining()) fill();
+            int n = Math.min(len - off, buf.remaining());
+            buf.get(dst, off, n);
+            off += n;
+        }
+    }
+
+    private void fill() throws IOException {
+        buf.clear();
+        int n;
+        do {
+            n = channel.read(buf);
+        } while (n == 0);
+        buf.flip();
+        if (n < 0) throw new EOFException("Truncated binary record file");
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}
@@ -0,0 +1,117 @@
+package edu.uca.registration.repo.impl;
+
+import edu.uca.registration.metrics.Counter;
+import edu.uca.registration.metrics.Metrics;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Builds a binary record file: a header (magic, format version, file kind), an
+ * interned string table, then length-prefixed records. Record fields are unsigned
+ * varints and strings are stored as their table index, so a value repeated across
+ * records (a student in several rosters) costs one or two bytes after the first.
+ * Files are written to a temp sibling, forced and moved into place.
+ */
+public class BinaryRecordWriter {
+    static final int MAGIC = 0x55434142; // "UCAB"
+    static final int VERSION = 1;
+    private static final Counter BYTES = Metrics.bytesWritten("binary");
+    private static final Counter FSYNCS = Metrics.fsyncs("binary");
+
+    private final byte kind;
+    private final Map<String, Integer> strings = new LinkedHashMap<>();
+    private final ByteSink records = new ByteSink();
+    private final ByteSink record = new ByteSink();
+    private int count;
+
+    public BinaryRecordWriter(byte kind) {
+        this.kind = kind;
+    }
+
+    // Ordinal of s in the string table, adding it on first use
+    public int intern(String s) {
+        Integer ordinal = strings.get(s);
+        if (ordinal == null) {
+            ordinal = strings.size();
+            strings.put(s, ordinal);
+        }
+        return ordinal;
+    }
+
+    public BinaryRecordWriter string(String s) {
+        record.varint(intern(s));
+        return this;
+    }
+
+    public BinaryRecordWriter varint(int value) {
+        record.varint(value);
+        return this;
+    }
+
+    public void endRecord() {
+        records.varint(record.length);
+        records.write(record.bytes, 0, record.length);
+        record.length = 0;
+        count++;
+    }
+
+    public void write(Path target) throws IOException {
+        ByteSink head = new ByteSink();
+        head.write(new byte[]{(byte) (MAGIC >>> 24), (byte) (MAGIC >>> 16), (byte) (MAGIC >>> 8), (byte) MAGIC}, 0, 4);
+        head.write(new byte[]{VERSION, kind}, 0, 2);
+        head.varint(strings.size());
+        for (String s : strings.keySet()) {
+            byte[] utf8 = s.getBytes(StandardCharsets.UTF_8);
+            head.varint(utf8.length);
+            head.write(utf8, 0, utf8.length);
+        }
+        head.varint(count);
+
+        Path tmp = target.resolveSibling(target.getFileName() + ".tmp");
+        try (OutputStream out = Files.newOutputStream(tmp)) {
+            out.write(head.bytes, 0, head.length);
+            out.write(records.bytes, 0, records.length);
+        }
+        try (FileChannel ch = FileChannel.open(tmp, StandardOpenOption.WRITE)) {
+            ch.force(true);
+        }
+        BYTES.add(head.length + records.length);
+        FSYNCS.increment();
+        Files.move(tmp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private static final class ByteSink {
+        byte[] bytes = new byte[256];
+        int length;
+
+        void varint(int value) {
+            ensure(5);
+            while ((value & ~0x7F) != 0) {
+                bytes[length++] = (byte) ((value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            bytes[length++] = (byte) value;
+        }
+
+        void write(byte[] src, int off, int len) {
+            ensure(len);
+            System.arraycopy(src, off, bytes, length, len);
+            length += len;
+        }
+
+        private void ensure(int extra) {
+            if (length + extra > bytes.length) {
+                bytes = Arrays.copyOf(bytes, Math.max(bytes.length * 2, length + extra));
+            }
+        }
+    }
+}
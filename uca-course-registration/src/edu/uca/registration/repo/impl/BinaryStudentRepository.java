@@ -0,0 +1,90 @@
+package edu.uca.registration.repo.impl;
+
+import edu.uca.registration.model.Student;
+import edu.uca.registration.repo.StudentRepository;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+
+// Same behavior as CsvStudentRepository over students.bin (see BinaryRecordWriter).
+public class BinaryStudentRepository implements StudentRepository {
+    static final byte KIND = 'S';
+    private static final String STUDENTS_BIN = "students.bin";
+    private final String studentsFile;
+    // Copy-on-write: readers never lock, writers publish a new map
+    private volatile Map<String, Student> students = new LinkedHashMap<>();
+
+    public BinaryStudentRepository() {
+        this(STUDENTS_BIN);
+    }
+
+    public BinaryStudentRepository(String studentsFile) {
+        this.studentsFile = studentsFile;
+        loadStudents();
+    }
+
+    private void loadStudents() {
+        Path path = Path.of(studentsFile);
+        if (!Files.exists(path)) return;
+        try (var reader = BinaryRecordReader.open(path, KIND)) {
+            Map<String, Student> loaded = new LinkedHashMap<>(reader.recordCount() * 4 / 3 + 1);
+            while (reader.next()) {
+                String id = reader.string();
+                Student student = new Student(id, reader.string(), reader.string());
+                if (reader.hasMoreFields()) {
+                    for (int n = reader.varint(); n > 0; n--) student.completedCourses.add(reader.string());
+                }
+                loaded.put(id, student);
+            }
+            students = loaded;
+        } catch (Exception e) {
+            System.out.println("Failed load students: " + e.getMessage());
+        }
+    }
+
+    static void writeStudents(Path target, Collection<Student> students) throws IOException {
+        var out = new BinaryRecordWriter(KIND);
+        for (Student s : students) {
+            out.string(s.id).string(s.name).string(s.email);
+            if (!s.completedCourses.isEmpty()) {
+                out.varint(s.completedCourses.size());
+                for (String code : s.completedCourses) out.string(code);
+            }
+            out.endRecord();
+        }
+        out.write(target);
+    }
+
+    @Override
+    public synchronized void save(Student student) {
+        Map<String, Student> next = new LinkedHashMap<>(students);
+        next.put(student.id, student);
+        students = next;
+        try {
+            writeStudents(Path.of(studentsFile), next.values());
+        } catch (Exception e) {
+            System.out.println("Failed save students: " + e.getMessage());
+        }
+    }
+
+    @Override
+    public Student findById(String bannerId) {
+        return students.get(bannerId);
+    }
+
+    @Override
+    public List<Student> findAll() {
+        return new ArrayList<>(students.values());
+    }
+
+    @Override
+    public boolean existsById(String bannerId) {
+        return students.containsKey(bannerId);
+    }
+
+    @Override
+    public Map<String, Student> getAllStudentsMap() {
+        return Collections.unmodifiableMap(students);
+    }
+}
@@ -1,51 +1,127 @@
 package edu.uca.registration.repo.impl;
 
+import edu.uca.registration.metrics.Metrics;
+import edu.uca.registration.metrics.PersistenceEvent;
 import edu.uca.registration.model.Course;
+import edu.uca.registration.model.MeetingTime;
 import edu.uca.registration.repo.CourseRepository;
 import java.io.*;
+import java.nio.file.Path;
 import java.util.*;
+import java.util.concurrent.TimeUnit;
 
 public class CsvCourseRepository implements CourseRepository {
     private static final String COURSES_CSV = "courses.csv";
-    private final Map<String, Course> courses = new LinkedHashMap<>();
+    private final String coursesFile;
+    // Copy-on-write: readers never lock, writers publish a new map
+    private volatile Map<String, Course> courses = new LinkedHashMap<>();
+    private final WriteBehind writeBehind; // null = save() rewrites the file before returning
 
     public CsvCourseRepository() {
+        this(COURSES_CSV);
+    }
+
+    public CsvCourseRepository(long maxStalenessMillis, int dirtyThreshold) {
+        this(COURSES_CSV, maxStalenessMillis, dirtyThreshold);
+    }
+
+    public CsvCourseRepository(String coursesFile) {
+        this(coursesFile, 0, 0);
+    }
+
+    // With a positive maxStalenessMillis, save() only marks the file dirty and a background
+    // flusher rewrites it within that time, or sooner once dirtyThreshold saves are pending.
+    public CsvCourseRepository(String coursesFile, long maxStalenessMillis, int dirtyThreshold) {
+        this.coursesFile = coursesFile;
         loadCourses();
+        this.writeBehind = maxStalenessMillis <= 0 ? null : new WriteBehind(
+                "courses-flusher", this::saveCourses, maxStalenessMillis, TimeUnit.MILLISECONDS, Math.max(1, dirtyThreshold));
     }
 
     private void loadCourses() {
-        File f = new File(COURSES_CSV);
+        File f = new File(coursesFile);
         if (!f.exists()) return;
-        try (BufferedReader br = new BufferedReader(new FileReader(f))) {
-            String line;
-            while ((line = br.readLine()) != null) {
-                String[] p = line.split(",", -1);
-                if (p.length >= 3) {
-                    try {
-                        int cap = Integer.parseInt(p[2]);
-                        courses.put(p[0], new Course(p[0], p[1], cap));
-                    } catch (NumberFormatException ignored) {}
+        if (!AtomicFileWriter.checkIntegrity(f.toPath(), "courses")) return;
+        PersistenceEvent event = new PersistenceEvent();
+        event.begin();
+        boolean ok = false;
+        try (var reader = DelimitedRecordReader.open(f.toPath(), ',')) {
+            while (reader.next()) {
+                if (reader.fieldCount() < 3) {
+                    reader.reject();
+                    continue;
+                }
+                try {
+                    int cap = reader.intField(2);
+                    String code = reader.field(0);
+                    Course course = new Course(code, reader.field(1), cap);
+                    // Optional fourth column: meeting time, e.g. "MWF 09:00-09:50"
+                    if (reader.fieldCount() > 3 && !reader.field(3).isEmpty()) {
+                        course.meetingTime = MeetingTime.parse(reader.field(3));
+                    }
+                    // Optional fifth column: prerequisite course codes separated by ';'
+                    if (reader.fieldCount() > 4) CsvStudentRepository.addCodes(course.prerequisites, reader.field(4));
+                    courses.put(code, course);
+                } catch (IllegalArgumentException e) {
+                    reader.reject();
                 }
             }
+            if (reader.getBadRows() > 0) {
+                System.out.println("Skipped " + reader.getBadRows() + " malformed rows in " + coursesFile);
+            }
+            ok = true;
         } catch (Exception e) {
+            Metrics.failures("courses", "load").increment();
             System.out.println("Failed load courses: " + e.getMessage());
         }
+        event.finish("courses", "load", coursesFile, courses.size(), 0, ok);
     }
 
-    private void saveCourses() {
-        try (PrintWriter pw = new PrintWriter(new FileWriter(COURSES_CSV))) {
-            for (Course c : courses.values()) {
-                pw.println(c.code + "," + c.title + "," + c.capacity);
+    // False if the file could not be written; the previous file is then left as it was
+    private boolean saveCourses() {
+        PersistenceEvent event = new PersistenceEvent();
+        event.begin();
+        Map<String, Course> snapshot = courses;
+        long bytes;
+        try (var file = AtomicFileWriter.open(Path.of(coursesFile), "courses");
+             var out = new DelimitedRecordWriter(file, ',')) {
+            for (Course c : snapshot.values()) {
+                out.field(c.code).field(c.title).field(c.capacity);
+                if (c.meetingTime != null || !c.prerequisites.isEmpty()) {
+                    out.field(c.meetingTime == null ? "" : c.meetingTime.toString());
+                }
+                if (!c.prerequisites.isEmpty()) out.field(String.join(";", c.prerequisites));
+                out.endRecord();
             }
+            file.commit();
+            bytes = file.bytesWritten();
         } catch (Exception e) {
+            Metrics.failures("courses", "save").increment();
             System.out.println("Failed save courses: " + e.getMessage());
+            event.finish("courses", "save", coursesFile, snapshot.size(), 0, false);
+            return false;
         }
+        event.finish("courses", "save", coursesFile, snapshot.size(), bytes, true);
+        return true;
     }
 
     @Override
-    public void save(Course course) {
-        courses.put(course.code, course);
-        saveCourses();
+    public synchronized void save(Course course) {
+        Map<String, Course> next = new LinkedHashMap<>(courses);
+        next.put(course.code, course);
+        courses = next;
+        if (writeBehind != null) writeBehind.markDirty();
+        else saveCourses();
+    }
+
+    @Override
+    public void flush() {
+        if (writeBehind != null) writeBehind.flush();
+    }
+
+    // Saves still waiting for the flusher; always 0 without write-behind
+    public int pendingSaves() {
+        return writeBehind == null ? 0 : writeBehind.pendingChanges();
     }
 
     @Override
@@ -65,7 +141,7 @@ public class CsvCourseRepository implements CourseRepository {
 
     @Override
     public Map<String, Course> getAllCoursesMap() {
-        return courses;
+        return Collections.unmodifiableMap(courses);
     }
 
 
@@ -1,51 +1,241 @@
 package edu.uca.registration.repo.impl;
 
+import edu.uca.registration.metrics.Metrics;
+import edu.uca.registration.metrics.PersistenceEvent;
+import edu.uca.registration.model.Course;
 import edu.uca.registration.repo.CourseRepository;
 import edu.uca.registration.repo.EnrollmentRepository;
-import edu.uca.registration.repo.StudentRepository;
 import java.io.*;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
 
 public class CsvEnrollmentRepository implements EnrollmentRepository {
     private static final String ENROLLMENTS_CSV = "enrollments.csv";
+    private static final String ENROLLMENTS_LOG = "enrollments.log";
     private final CourseRepository courseRepository;
+    private final String enrollmentsFile;
+    private final EnrollmentLog log;
+    private final Path sealedLog;
+    private final Object checkpointLock = new Object();
 
     public CsvEnrollmentRepository(CourseRepository courseRepository) {
+        this(courseRepository, ENROLLMENTS_CSV, ENROLLMENTS_LOG);
+    }
+
+    public CsvEnrollmentRepository(CourseRepository courseRepository, String enrollmentsFile, String logFile) {
         this.courseRepository = courseRepository;
+        this.enrollmentsFile = enrollmentsFile;
+        this.log = new EnrollmentLog(Path.of(logFile), true);
+        this.sealedLog = Path.of(logFile + ".old");
     }
 
     @Override
     public void loadEnrollments() {
-        File f = new File(ENROLLMENTS_CSV);
-        if (!f.exists()) return;
-        try (BufferedReader br = new BufferedReader(new FileReader(f))) {
-            String line;
-            while ((line = br.readLine()) != null) {
-                String[] p = line.split("\\|", -1);
-                if (p.length >= 3) {
-                    String code = p[0], sid = p[1], status = p[2];
-                    var course = courseRepository.findByCode(code);
-                    if (course == null) continue;
-                    if ("ENROLLED".equalsIgnoreCase(status)) {
-                        if (!course.roster.contains(sid)) course.roster.add(sid);
-                    } else if ("WAITLIST".equalsIgnoreCase(status)) {
-                        if (!course.waitlist.contains(sid)) course.waitlist.add(sid);
-                    }
+        PersistenceEvent event = new PersistenceEvent();
+        event.begin();
+        boolean ok = true;
+        // Held so a background checkpoint cannot swap files mid-load
+        synchronized (checkpointLock) {
+            readSnapshot(Path.of(enrollmentsFile), courseRepository.getAllCoursesMap(), false);
+            // Re-apply mutations made since the last snapshot: a sealed segment a
+            // checkpoint has not folded in yet, then the active one
+            try {
+                EnrollmentLog.replay(sealedLog, this::applyRecord);
+                EnrollmentLog.replay(log.getPath(), this::applyRecord);
+            } catch (Exception e) {
+                ok = false;
+                Metrics.failures("enrollments", "replay").increment();
+                System.out.println("Failed replay enrollment log: " + e.getMessage());
+            }
+        }
+        event.finish("enrollments", "load", enrollmentsFile, event.isEnabled() ? enrollmentCount() : 0, 0, ok);
+    }
+
+    private int enrollmentCount() {
+        int n = 0;
+        for (Course c : courseRepository.getAllCoursesMap().values()) {
+            synchronized (c) {
+                n += c.roster.size() + c.waitlist.size();
+            }
+        }
+        return n;
+    }
+
+    // Snapshot encoding; BinaryEnrollmentRepository swaps these two for its own format
+    protected void readSnapshot(Path f, Map<String, Course> courses, boolean addMissing) {
+        if (!Files.exists(f)) return;
+        if (!AtomicFileWriter.checkIntegrity(f, "enrollments")) return;
+        try (var reader = DelimitedRecordReader.open(f, '|')) {
+            while (reader.next()) {
+                if (reader.fieldCount() < 3) {
+                    reader.reject();
+                    continue;
+                }
+                String code = reader.field(0);
+                var course = addMissing ? courses.computeIfAbsent(code, k -> new Course(k, "", 0)) : courses.get(code);
+                if (course == null) continue;
+                if (reader.fieldEqualsIgnoreCase(2, "ENROLLED")) {
+                    course.roster.add(reader.field(1));
+                } else if (reader.fieldEqualsIgnoreCase(2, "WAITLIST")) {
+                    course.waitlist.add(reader.field(1));
+                } else {
+                    reader.reject();
                 }
             }
+            if (reader.getBadRows() > 0) {
+                System.out.println("Skipped " + reader.getBadRows() + " malformed rows in " + f);
+            }
         } catch (Exception e) {
+            Metrics.failures("enrollments", "load").increment();
             System.out.println("Failed load enrollments: " + e.getMessage());
         }
     }
 
+    private void applyRecord(String[] p) {
+        if (p.length < 3) return;
+        Course course = courseRepository.findByCode(p[1]);
+        if (course == null) return;
+        applyMutation(course, p);
+    }
+
+    // Replaying a record the snapshot already reflects leaves roster and waitlist membership
+    // as it was, but not always waitlist order: a student dropped from and re-added to the
+    // waitlist moves behind anyone who joined in between. That only happens for records written
+    // while a save was writing the snapshot, or when a crash lands between a snapshot's rename
+    // and the deletion of the sealed segment it absorbed.
+    static void applyMutation(Course course, String[] p) {
+        String sid = p[2];
+        switch (p[0]) {
+            case "ENROLL":
+                course.waitlist.remove(sid);
+                course.roster.add(sid);
+                break;
+            case "WAITLIST":
+                if (!course.roster.contains(sid) && !course.waitlist.contains(sid)) course.waitlist.add(sid);
+                break;
+            case "DROP":
+                if (!course.roster.remove(sid)) course.waitlist.remove(sid);
+                break;
+            case "PROMOTE":
+                course.roster.remove(sid);
+                if (p.length >= 4) {
+                    course.waitlist.remove(p[3]);
+                    course.roster.add(p[3]);
+                }
+                break;
+            default:
+                break;
+        }
+    }
+
     @Override
     public void saveEnrollments() {
-        try (PrintWriter pw = new PrintWriter(new FileWriter(ENROLLMENTS_CSV))) {
-            for (var course : courseRepository.getAllCoursesMap().values()) {
-                for (String sid : course.roster) pw.println(course.code + "|" + sid + "|ENROLLED");
-                for (String sid : course.waitlist) pw.println(course.code + "|" + sid + "|WAITLIST");
+        PersistenceEvent event = new PersistenceEvent();
+        event.begin();
+        synchronized (checkpointLock) {
+            try {
+                // Appends do not wait for the save: everything logged so far is sealed first, and
+                // later changes stay in the active log whether or not the snapshot caught them
+                if (Files.exists(sealedLog)) {
+                    foldLog(sealedLog);
+                    Files.delete(sealedLog);
+                }
+                log.rotate(sealedLog);
+                writeSnapshot(Path.of(enrollmentsFile), courseRepository.getAllCoursesMap().values());
+            } catch (Exception e) {
+                Metrics.failures("enrollments", "save").increment();
+                System.out.println("Failed save enrollments: " + e.getMessage());
+                event.finish("enrollments", "save", enrollmentsFile, 0, 0, false);
+                return;
             }
-        } catch (Exception e) {
-            System.out.println("Failed save enrollments: " + e.getMessage());
+            if (event.isEnabled()) {
+                event.finish("enrollments", "save", enrollmentsFile, enrollmentCount(),
+                        new File(enrollmentsFile).length(), true);
+            }
+            // Everything in the sealed segment is now in the snapshot
+            try {
+                Files.deleteIfExists(sealedLog);
+            } catch (IOException e) {
+                Metrics.failures("enrollments", "truncate").increment();
+                System.out.println("Failed delete sealed enrollment log: " + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Folds the log into a fresh enrollments.csv without touching live course
+     * state: the active segment is sealed, the previous snapshot plus the sealed
+     * segment are replayed into scratch courses, and the result replaces the CSV.
+     * Appends only wait for the segment switch, never for the file write.
+     */
+    public void checkpoint() throws IOException {
+        synchronized (checkpointLock) {
+            // A sealed segment left by an interrupted checkpoint is folded in first
+            if (!Files.exists(sealedLog)) log.rotate(sealedLog);
+            if (!Files.exists(sealedLog)) return;
+
+            foldLog(sealedLog);
+            Files.delete(sealedLog);
+        }
+    }
+
+    // Rewrites the snapshot as it was plus the sealed segment's mutations
+    protected void foldLog(Path sealed) throws IOException {
+        Map<String, Course> scratch = new LinkedHashMap<>();
+        readSnapshot(Path.of(enrollmentsFile), scratch, true);
+        EnrollmentLog.replay(sealed, p -> {
+            if (p.length >= 3) applyMutation(scratch.computeIfAbsent(p[1], k -> new Course(k, "", 0)), p);
+        });
+        writeSnapshot(Path.of(enrollmentsFile), scratch.values());
+    }
+
+    public long getLogSize() throws IOException {
+        return log.size();
+    }
+
+    protected void writeSnapshot(Path target, Collection<Course> courses) throws IOException {
+        try (var file = AtomicFileWriter.open(target, "snapshot");
+             var out = new DelimitedRecordWriter(file, '|')) {
+            for (var course : courses) {
+                synchronized (course) {
+                    for (String sid : course.roster) out.field(course.code).field(sid).field("ENROLLED").endRecord();
+                    for (String sid : course.waitlist) out.field(course.code).field(sid).field("WAITLIST").endRecord();
+                }
+            }
+            file.commit();
+        }
+    }
+
+    @Override
+    public void recordChange(Mutation mutation, String courseCode, String studentId) {
+        append(mutation.name() + "|" + courseCode + "|" + studentId);
+    }
+
+    @Override
+    public void recordPromotion(String courseCode, String droppedId, String promotedId) {
+        append(Mutation.PROMOTE.name() + "|" + courseCode + "|" + droppedId + "|" + promotedId);
+    }
+
+    // Throws so the caller fails the command instead of acknowledging a change that is not durable
+    @Override
+    public void flush() {
+        try {
+            log.sync();
+        } catch (IOException e) {
+            Metrics.failures("enrollments", "sync").increment();
+            throw new UncheckedIOException("Failed sync enrollment log: " + e.getMessage(), e);
+        }
+    }
+
+    private void append(String record) {
+        try {
+            log.append(record);
+        } catch (IOException e) {
+            Metrics.failures("enrollments", "append").increment();
+            throw new UncheckedIOException("Failed append enrollment log: " + e.getMessage(), e);
         }
     }
-}
\ No newline at end of file
+}
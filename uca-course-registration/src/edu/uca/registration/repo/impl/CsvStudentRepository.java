@@ -1,48 +1,120 @@
 package edu.uca.registration.repo.impl;
 
+import edu.uca.registration.metrics.Metrics;
+import edu.uca.registration.metrics.PersistenceEvent;
 import edu.uca.registration.model.Student;
 import edu.uca.registration.repo.StudentRepository;
 import java.io.*;
+import java.nio.file.Path;
 import java.util.*;
+import java.util.concurrent.TimeUnit;
 
 public class CsvStudentRepository implements StudentRepository {
     private static final String STUDENTS_CSV = "students.csv";
-    private final Map<String, Student> students = new LinkedHashMap<>();
+    private final String studentsFile;
+    // Copy-on-write: readers never lock, writers publish a new map
+    private volatile Map<String, Student> students = new LinkedHashMap<>();
+    private final WriteBehind writeBehind; // null = save() rewrites the file before returning
 
     public CsvStudentRepository() {
+        this(STUDENTS_CSV);
+    }
+
+    public CsvStudentRepository(long maxStalenessMillis, int dirtyThreshold) {
+        this(STUDENTS_CSV, maxStalenessMillis, dirtyThreshold);
+    }
+
+    public CsvStudentRepository(String studentsFile) {
+        this(studentsFile, 0, 0);
+    }
+
+    // With a positive maxStalenessMillis, save() only marks the file dirty and a background
+    // flusher rewrites it within that time, or sooner once dirtyThreshold saves are pending.
+    public CsvStudentRepository(String studentsFile, long maxStalenessMillis, int dirtyThreshold) {
+        this.studentsFile = studentsFile;
         loadStudents();
+        this.writeBehind = maxStalenessMillis <= 0 ? null : new WriteBehind(
+                "students-flusher", this::saveStudents, maxStalenessMillis, TimeUnit.MILLISECONDS, Math.max(1, dirtyThreshold));
     }
 
     private void loadStudents() {
-        File f = new File(STUDENTS_CSV);
+        File f = new File(studentsFile);
         if (!f.exists()) return;
-        try (BufferedReader br = new BufferedReader(new FileReader(f))) {
-            String line;
-            while ((line = br.readLine()) != null) {
-                String[] p = line.split(",", -1);
-                if (p.length >= 3) {
-                    students.put(p[0], new Student(p[0], p[1], p[2]));
+        if (!AtomicFileWriter.checkIntegrity(f.toPath(), "students")) return;
+        PersistenceEvent event = new PersistenceEvent();
+        event.begin();
+        boolean ok = false;
+        try (var reader = DelimitedRecordReader.open(f.toPath(), ',')) {
+            while (reader.next()) {
+                if (reader.fieldCount() < 3) {
+                    reader.reject();
+                    continue;
                 }
+                String id = reader.field(0);
+                Student student = new Student(id, reader.field(1), reader.field(2));
+                // Optional fourth column: completed course codes separated by ';'
+                if (reader.fieldCount() > 3) addCodes(student.completedCourses, reader.field(3));
+                students.put(id, student);
             }
+            if (reader.getBadRows() > 0) {
+                System.out.println("Skipped " + reader.getBadRows() + " malformed rows in " + studentsFile);
+            }
+            ok = true;
         } catch (Exception e) {
+            Metrics.failures("students", "load").increment();
             System.out.println("Failed load students: " + e.getMessage());
         }
+        event.finish("students", "load", studentsFile, students.size(), 0, ok);
     }
 
-    private void saveStudents() {
-        try (PrintWriter pw = new PrintWriter(new FileWriter(STUDENTS_CSV))) {
-            for (Student s : students.values()) {
-                pw.println(s.id + "," + s.name + "," + s.email);
+    static void addCodes(Collection<String> into, String joined) {
+        for (String code : joined.split(";")) {
+            if (!code.trim().isEmpty()) into.add(code.trim());
+        }
+    }
+
+    // False if the file could not be written; the previous file is then left as it was
+    private boolean saveStudents() {
+        PersistenceEvent event = new PersistenceEvent();
+        event.begin();
+        Map<String, Student> snapshot = students;
+        long bytes;
+        try (var file = AtomicFileWriter.open(Path.of(studentsFile), "students");
+             var out = new DelimitedRecordWriter(file, ',')) {
+            for (Student s : snapshot.values()) {
+                out.field(s.id).field(s.name).field(s.email);
+                if (!s.completedCourses.isEmpty()) out.field(String.join(";", s.completedCourses));
+                out.endRecord();
             }
+            file.commit();
+            bytes = file.bytesWritten();
         } catch (Exception e) {
+            Metrics.failures("students", "save").increment();
             System.out.println("Failed save students: " + e.getMessage());
+            event.finish("students", "save", studentsFile, snapshot.size(), 0, false);
+            return false;
         }
+        event.finish("students", "save", studentsFile, snapshot.size(), bytes, true);
+        return true;
     }
 
     @Override
-    public void save(Student student) {
-        students.put(student.id, student);
-        saveStudents();
+    public synchronized void save(Student student) {
+        Map<String, Student> next = new LinkedHashMap<>(students);
+        next.put(student.id, student);
+        students = next;
+        if (writeBehind != null) writeBehind.markDirty();
+        else saveStudents();
+    }
+
+    @Override
+    public void flush() {
+        if (writeBehind != null) writeBehind.flush();
+    }
+
+    // Saves still waiting for the flusher; always 0 without write-behind
+    public int pendingSaves() {
+        return writeBehind == null ? 0 : writeBehind.pendingChanges();
     }
 
     @Override
@@ -62,7 +134,7 @@ public class CsvStudentRepository implements StudentRepository {
 
     @Override
     public Map<String, Student> getAllStudentsMap() {
-        return students;
+        return Collections.unmodifiableMap(students);
     }
 
 }
\ No newline at end of file
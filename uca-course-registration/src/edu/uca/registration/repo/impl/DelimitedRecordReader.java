@@ -0,0 +1,203 @@
+package edu.uca.registration.repo.impl;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * Streaming reader for delimited text records (CSV-style quoting: a field may be
+ * wrapped in double quotes, with "" for a literal quote). Bytes are tokenized
+ * straight out of a reusable buffer; Strings are only built for the fields a
+ * caller asks for. Blank lines and {@link AtomicFileWriter} checksum trailers are
+ * skipped, and malformed rows are counted.
+ */
+public class DelimitedRecordReader implements Closeable {
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final byte[] TRAILER = AtomicFileWriter.TRAILER.getBytes(StandardCharsets.US_ASCII);
+
+    private final ReadableByteChannel channel;
+    private final byte delimiter;
+    private final byte[] buf;
+    private final ByteBuffer window;
+    private int pos, limit;
+    private boolean eof;
+
+    // Current record: unescaped field bytes plus their boundaries
+    private byte[] record = new byte[256];
+    private int length;
+    private int[] starts = new int[8];
+    private int[] ends = new int[8];
+    private int fields;
+    private long badRows;
+
+    public DelimitedRecordReader(ReadableByteChannel channel, char delimiter) {
+        this(channel, delimiter, BUFFER_SIZE);
+    }
+
+    public DelimitedRecordReader(ReadableByteChannel channel, char delimiter, int bufferSize) {
+        this.channel = channel;
+        this.delimiter = (byte) delimiter;
+        this.buf = new byte[bufferSize];
+        this.window = ByteBuffer.wrap(buf);
+    }
+
+    public static DelimitedRecordReader open(Path path, char delimiter) throws IOException {
+        return new DelimitedRecordReader(FileChannel.open(path, StandardOpenOption.READ), delimiter);
+    }
+
+    public boolean next() throws IOException {
+        while (true) {
+            int result = readRecord();
+            if (result < 0) return false;
+            if (result > 0 && !isTrailer()) return true;
+        }
+    }
+
+    // 1 = record ready, 0 = skipped (blank or malformed), -1 = end of input
+    private int readRecord() throws IOException {
+        length = 0;
+        fields = 0;
+        int fieldStart = 0;
+        boolean any = false;
+        boolean quoted = false;
+
+        while (true) {
+            if (pos == limit && !fill()) {
+                if (!any) return -1;
+                if (quoted) {
+                    badRows++;
+                    return 0;
+                }
+                break;
+            }
+            byte b = buf[pos++];
+            any = true;
+            if (quoted) {
+                if (b == '"') {
+                    if (pos == limit && !fill()) {
+                        quoted = false;
+                    } else if (buf[pos] == '"') {
+                        pos++;
+                        put(b);
+                    } else {
+                        quoted = false;
+                    }
+                } else {
+                    put(b);
+                }
+            } else if (b == '"' && length == fieldStart) {
+                quoted = true;
+            } else if (b == delimiter) {
+                endField(fieldStart);
+                fieldStart = length;
+            } else if (b == '\n') {
+                break;
+            } else if (b != '\r') {
+                put(b);
+            }
+        }
+        endField(fieldStart);
+        return fields == 1 && length == 0 ? 0 : 1;
+    }
+
+    private boolean isTrailer() {
+        return fields == 1 && length >= TRAILER.length && record[0] == '#'
+                && Arrays.equals(record, 0, TRAILER.length, TRAILER, 0, TRAILER.length);
+    }
+
+    private boolean fill() throws IOException {
+        if (eof) return false;
+        int n;
+        do {
+            window.clear();
+            n = channel.read(window);
+        } while (n == 0);
+        if (n < 0) {
+            eof = true;
+            pos = limit = 0;
+            return false;
+        }
+        pos = 0;
+        limit = n;
+        return true;
+    }
+
+    private void put(byte b) {
+        if (length == record.length) {
+            byte[] bigger = new byte[record.length * 2];
+            System.arraycopy(record, 0, bigger, 0, length);
+            record = bigger;
+        }
+        record[length++] = b;
+    }
+
+    private void endField(int start) {
+        if (fields == starts.length) {
+            int[] s = new int[fields * 2], e = new int[fields * 2];
+            System.arraycopy(starts, 0, s, 0, fields);
+            System.arraycopy(ends, 0, e, 0, fields);
+            starts = s;
+            ends = e;
+        }
+        starts[fields] = start;
+        ends[fields] = length;
+        fields++;
+    }
+
+    public int fieldCount() {
+        return fields;
+    }
+
+    public String field(int i) {
+        return new String(record, starts[i], ends[i] - starts[i], StandardCharsets.UTF_8);
+    }
+
+    public int intField(int i) {
+        int p = starts[i], end = ends[i];
+        if (p == end) throw new NumberFormatException("Empty number");
+        boolean negative = record[p] == '-';
+        if (negative || record[p] == '+') p++;
+        if (p == end) throw new NumberFormatException("Missing digits");
+        long value = 0;
+        for (; p < end; p++) {
+            int d = record[p] - '0';
+            if (d < 0 || d > 9) throw new NumberFormatException("Not a number: " + field(i));
+            value = value * 10 + d;
+            if (value > Integer.MAX_VALUE + 1L) throw new NumberFormatException("Out of range: " + field(i));
+        }
+        value = negative ? -value : value;
+        if (value > Integer.MAX_VALUE) throw new NumberFormatException("Out of range: " + field(i));
+        return (int) value;
+    }
+
+    // ASCII case-insensitive comparison without decoding the field
+    public boolean fieldEqualsIgnoreCase(int i, String ascii) {
+        int len = ends[i] - starts[i];
+        if (len != ascii.length()) return false;
+        for (int k = 0; k < len; k++) {
+            int a = record[starts[i] + k], b = ascii.charAt(k);
+            if (a != b && Character.toUpperCase(a) != Character.toUpperCase(b)) return false;
+        }
+        return true;
+    }
+
+    // Lets callers count rows that parsed but failed their own validation
+    public void reject() {
+        badRows++;
+    }
+
+    public long getBadRows() {
+        return badRows;
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}
@@ -0,0 +1,61 @@
+package edu.uca.registration.repo.impl;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Writer;
+
+// Writes records DelimitedRecordReader can read back, quoting fields only when needed.
+public class DelimitedRecordWriter implements Closeable {
+    private final Writer out;
+    private final char delimiter;
+    private boolean firstField = true;
+
+    public DelimitedRecordWriter(Writer out, char delimiter) {
+        this.out = out;
+        this.delimiter = delimiter;
+    }
+
+    public DelimitedRecordWriter field(String value) throws IOException {
+        if (!firstField) out.write(delimiter);
+        firstField = false;
+        if (!needsQuotes(value)) {
+            out.write(value);
+            return this;
+        }
+        out.write('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"') out.write('"');
+            out.write(c);
+        }
+        out.write('"');
+        return this;
+    }
+
+    public DelimitedRecordWriter field(int value) throws IOException {
+        return field(Integer.toString(value));
+    }
+
+    public void endRecord() throws IOException {
+        out.write('\n');
+        firstField = true;
+    }
+
+    private boolean needsQuotes(String value) {
+        if (!value.isEmpty() && value.charAt(0) == '"') return true;
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == delimiter || c == '\n' || c == '\r') return true;
+        }
+        return false;
+    }
+
+    public void flush() throws IOException {
+        out.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        out.close();
+    }
+}
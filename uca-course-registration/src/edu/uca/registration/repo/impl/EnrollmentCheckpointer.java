@@ -0,0 +1,46 @@
+package edu.uca.registration.repo.impl;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+// Periodically compacts the enrollment log into enrollments.csv on a background thread.
+public class EnrollmentCheckpointer implements AutoCloseable {
+    private final CsvEnrollmentRepository repository;
+    private final long minLogBytes;
+    private final ScheduledExecutorService scheduler;
+
+    public EnrollmentCheckpointer(CsvEnrollmentRepository repository, long minLogBytes) {
+        this.repository = repository;
+        this.minLogBytes = minLogBytes;
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "enrollment-checkpointer");
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    public void start(long interval, TimeUnit unit) {
+        scheduler.scheduleWithFixedDelay(this::runOnce, interval, interval, unit);
+    }
+
+    void runOnce() {
+        try {
+            if (repository.getLogSize() >= minLogBytes) {
+                repository.checkpoint();
+            }
+        } catch (Exception e) {
+            System.out.println("Failed checkpoint enrollments: " + e.getMessage());
+        }
+    }
+
+    @Override
+    public void close() {
+        scheduler.shutdown();
+        try {
+            scheduler.awaitTermination(30, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,183 @@
+package edu.uca.registration.repo.impl;
+
+import edu.uca.registration.metrics.Counter;
+import edu.uca.registration.metrics.Metrics;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.function.Consumer;
+
+/**
+ * Append-only journal of roster mutations, one pipe-delimited record per line.
+ * {@link #append} only writes; {@link #sync} makes everything appended so far
+ * durable, and concurrent callers share a single fsync (group commit).
+ */
+public class EnrollmentLog implements Closeable {
+    private static final Counter BYTES = Metrics.bytesWritten("journal");
+    private static final Counter FSYNCS = Metrics.fsyncs("journal");
+
+    private final Path path;
+    private final boolean fsync;
+    private final Object lock = new Object();
+    private FileChannel channel;
+    private long written;
+    private long synced;
+    private boolean syncing;
+
+    public EnrollmentLog(Path path, boolean fsync) {
+        this.path = path;
+        this.fsync = fsync;
+    }
+
+    public Path getPath() {
+        return path;
+    }
+
+    public void append(String record) throws IOException {
+        ByteBuffer buf = ByteBuffer.wrap((record + "\n").getBytes(StandardCharsets.UTF_8));
+        synchronized (lock) {
+            if (channel == null) channel = open();
+            while (buf.hasRemaining()) channel.write(buf);
+            written++;
+        }
+        BYTES.add(buf.capacity());
+    }
+
+    public void sync() throws IOException {
+        if (!fsync) return;
+        long ticket;
+        synchronized (lock) {
+            ticket = written;
+        }
+        awaitDurable(ticket);
+    }
+
+    // The first waiter forces everything written so far; later waiters piggyback on it.
+    private void awaitDurable(long ticket) throws IOException {
+        while (true) {
+            long target;
+            FileChannel ch;
+            synchronized (lock) {
+                if (synced >= ticket) return;
+                if (syncing) {
+                    try {
+                        lock.wait();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        throw new IOException("Interrupted waiting for log sync");
+                    }
+                    continue;
+                }
+                syncing = true;
+                target = written;
+                ch = channel;
+            }
+            boolean ok = false;
+            try {
+                ch.force(false);
+                FSYNCS.increment();
+                ok = true;
+            } finally {
+                synchronized (lock) {
+                    syncing = false;
+                    if (ok && target > synced) synced = target;
+                    lock.notifyAll();
+                }
+            }
+        }
+    }
+
+    private FileChannel open() throws IOException {
+        FileChannel ch = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        // Drop a torn record left behind by a crash mid-append
+        long end = completeLength(ch);
+        ch.truncate(end);
+        ch.position(end);
+        return ch;
+    }
+
+    private static long completeLength(FileChannel ch) throws IOException {
+        long pos = ch.size();
+        ByteBuffer buf = ByteBuffer.allocate(4096);
+        while (pos > 0) {
+            int n = (int) Math.min(buf.capacity(), pos);
+            buf.clear().limit(n);
+            ch.read(buf, pos - n);
+            for (int i = n - 1; i >= 0; i--) {
+                if (buf.get(i) == '\n') return pos - n + i + 1;
+            }
+            pos -= n;
+        }
+        return 0;
+    }
+
+    public long size() throws IOException {
+        synchronized (lock) {
+            if (channel != null) return channel.size();
+        }
+        return Files.exists(path) ? Files.size(path) : 0;
+    }
+
+    // Seals the active segment under a new name; later appends start a fresh file.
+    public void rotate(Path sealed) throws IOException {
+        synchronized (lock) {
+            while (syncing) {
+                try {
+                    lock.wait();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new IOException("Interrupted waiting for log sync");
+                }
+            }
+            if (channel != null) {
+                channel.force(false);
+                FSYNCS.increment();
+                synced = written;
+                channel.close();
+                channel = null;
+                lock.notifyAll();
+            }
+            if (Files.exists(path)) {
+                Files.move(path, sealed, StandardCopyOption.ATOMIC_MOVE);
+            }
+        }
+    }
+
+    public void truncate() throws IOException {
+        synchronized (lock) {
+            if (channel == null) channel = open();
+            channel.truncate(0);
+            channel.position(0);
+            channel.force(true);
+            FSYNCS.increment();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        synchronized (lock) {
+            if (channel != null) {
+                channel.close();
+                channel = null;
+            }
+        }
+    }
+
+    public static void replay(Path path, Consumer<String[]> visitor) throws IOException {
+        if (!Files.exists(path)) return;
+        byte[] data = Files.readAllBytes(path);
+        int start = 0;
+        for (int i = 0; i < data.length; i++) {
+            if (data[i] != '\n') continue;
+            String line = new String(data, start, i - start, StandardCharsets.UTF_8);
+            start = i + 1;
+            if (!line.isEmpty()) visitor.accept(line.split("\\|", -1));
+        }
+    }
+}
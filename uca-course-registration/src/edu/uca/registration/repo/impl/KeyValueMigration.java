@@ -0,0 +1,44 @@
+package edu.uca.registration.repo.impl;
+
+import edu.uca.registration.model.Course;
+import edu.uca.registration.model.Student;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+// One-off migration of the CSV data files in a directory into fresh key-value stores.
+public final class KeyValueMigration {
+    private KeyValueMigration() {}
+
+    public static void fromCsv(Path dir) throws IOException {
+        var students = new CsvStudentRepository(dir.resolve("students.csv").toString());
+        try (var store = freshStore(dir.resolve("students.kv"))) {
+            for (Student s : students.findAll()) store.put(s.id, KvStudentRepository.encode(s));
+            store.sync();
+        }
+
+        var courses = new CsvCourseRepository(dir.resolve("courses.csv").toString());
+        try (var store = freshStore(dir.resolve("courses.kv"))) {
+            for (Course c : courses.findAll()) store.put(c.code, KvCourseRepository.encode(c));
+            store.sync();
+        }
+
+        // Loading through the CSV repository folds in its journal as well
+        new CsvEnrollmentRepository(courses, dir.resolve("enrollments.csv").toString(),
+                dir.resolve("enrollments.log").toString()).loadEnrollments();
+        try (var store = freshStore(dir.resolve("enrollments.kv"))) {
+            for (Course c : courses.findAll()) {
+                if (!c.roster.isEmpty() || !c.waitlist.isEmpty()) store.put(c.code, KvEnrollmentRepository.encode(c));
+            }
+            store.sync();
+        }
+
+        System.out.println("Migrated " + students.findAll().size() + " students and "
+                + courses.findAll().size() + " courses to key-value stores");
+    }
+
+    private static KeyValueStore freshStore(Path path) throws IOException {
+        Files.deleteIfExists(path);
+        return KeyValueStore.open(path);
+    }
+}
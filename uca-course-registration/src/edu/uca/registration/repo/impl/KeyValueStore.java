@@ -0,0 +1,310 @@
+package edu.uca.registration.repo.impl;
+
+import edu.uca.registration.metrics.Counter;
+import edu.uca.registration.metrics.Metrics;
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.BiConsumer;
+import java.util.zip.CRC32;
+
+/**
+ * Embedded log-structured key-value store (Bitcask style). Every put appends one
+ * checksummed record and an in-memory index maps each key to its newest value, so
+ * an update writes only that record. {@link #sync} commits everything appended so
+ * far; on open a torn or corrupt tail is truncated. Superseded records are dropped
+ * by {@link #compact}, which runs on a background thread once they outweigh live data.
+ * Compaction copies live values without blocking puts or syncs, then only holds the
+ * locks to copy the records appended meanwhile and swap the files.
+ *
+ * Record layout: crc32, key length, value length (-1 = deleted), key, value.
+ */
+public class KeyValueStore implements Closeable {
+    private static final int HEADER = 12;
+    private static final long COMPACT_MIN_BYTES = 1 << 20;
+    private static final Counter BYTES = Metrics.bytesWritten("kv");
+    private static final Counter FSYNCS = Metrics.fsyncs("kv");
+    private static final ExecutorService COMPACTOR = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "kv-compactor");
+        t.setDaemon(true);
+        return t;
+    });
+
+    private final Path path;
+    private final Object lock = new Object();
+    private final Object syncLock = new Object();
+    private final Object compactLock = new Object();
+    private final AtomicBoolean compactQueued = new AtomicBoolean();
+    private final Map<String, Slot> index = new LinkedHashMap<>();
+    private FileChannel channel;
+    private long end;
+    private long liveBytes;
+    private long appended, synced;
+    private boolean closed;
+
+    private static final class Slot {
+        final long offset;
+        final int length;
+
+        Slot(long offset, int length) {
+            this.offset = offset;
+            this.length = length;
+        }
+    }
+
+    private KeyValueStore(Path path) {
+        this.path = path;
+    }
+
+    public static KeyValueStore open(Path path) throws IOException {
+        var store = new KeyValueStore(path);
+        store.channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        store.recover();
+        return store;
+    }
+
+    private void recover() throws IOException {
+        var in = new DataInputStream(new BufferedInputStream(Channels.newInputStream(channel.position(0)), 64 * 1024));
+        long size = channel.size();
+        long pos = 0;
+        CRC32 crc = new CRC32();
+        while (pos + HEADER <= size) {
+            int expected = in.readInt(), keyLen = in.readInt(), valueLen = in.readInt();
+            long recordEnd = pos + HEADER + (long) keyLen + Math.max(valueLen, 0);
+            if (keyLen < 0 || valueLen < -1 || recordEnd > size) break;
+            byte[] key = new byte[keyLen];
+            in.readFully(key);
+            byte[] value = new byte[Math.max(valueLen, 0)];
+            in.readFully(value);
+            crc.reset();
+            crc.update(ByteBuffer.allocate(8).putInt(keyLen).putInt(valueLen).array());
+            crc.update(key);
+            crc.update(value);
+            if ((int) crc.getValue() != expected) break;
+            index(new String(key, StandardCharsets.UTF_8), pos + HEADER + keyLen, valueLen, (int) (recordEnd - pos));
+            pos = recordEnd;
+        }
+        if (pos < size) {
+            System.out.println("Truncated " + (size - pos) + " bytes of incomplete records in " + path);
+            channel.truncate(pos);
+            channel.force(true);
+            FSYNCS.increment();
+        }
+        end = pos;
+        channel.position(end);
+    }
+
+    private void index(String key, long valueOffset, int valueLen, int recordLen) {
+        Slot old = valueLen < 0 ? index.remove(key) : index.put(key, new Slot(valueOffset, valueLen));
+        if (old != null) liveBytes -= HEADER + key.getBytes(StandardCharsets.UTF_8).length + old.length;
+        if (valueLen >= 0) liveBytes += recordLen;
+    }
+
+    public byte[] get(String key) throws IOException {
+        synchronized (lock) {
+            Slot slot = index.get(key);
+            return slot == null ? null : read(slot);
+        }
+    }
+
+    private byte[] read(Slot slot) throws IOException {
+        ByteBuffer buf = ByteBuffer.allocate(slot.length);
+        while (buf.hasRemaining()) {
+            if (channel.read(buf, slot.offset + buf.position()) < 0) throw new EOFException("Value past end of " + path);
+        }
+        return buf.array();
+    }
+
+    public boolean containsKey(String key) {
+        synchronized (lock) {
+            return index.containsKey(key);
+        }
+    }
+
+    // Visits live entries in first-insertion order
+    public void forEach(BiConsumer<String, byte[]> visitor) throws IOException {
+        synchronized (lock) {
+            for (var e : index.entrySet()) visitor.accept(e.getKey(), read(e.getValue()));
+        }
+    }
+
+    public void put(String key, byte[] value) throws IOException {
+        append(key, value);
+    }
+
+    public void delete(String key) throws IOException {
+        synchronized (lock) {
+            if (!index.containsKey(key)) return;
+        }
+        append(key, null);
+    }
+
+    private void append(String key, byte[] value) throws IOException {
+        byte[] k = key.getBytes(StandardCharsets.UTF_8);
+        int valueLen = value == null ? -1 : value.length;
+        ByteBuffer buf = encode(k, value);
+        boolean mostlyGarbage;
+        synchronized (lock) {
+            long start = end;
+            while (buf.hasRemaining()) end += channel.write(buf, end);
+            index(key, start + HEADER + k.length, valueLen, (int) (end - start));
+            appended++;
+            mostlyGarbage = end > COMPACT_MIN_BYTES && end > 2 * liveBytes;
+        }
+        BYTES.add(buf.capacity());
+        // Callers may hold a course lock, so the rewrite never runs on their thread
+        if (mostlyGarbage && compactQueued.compareAndSet(false, true)) COMPACTOR.execute(this::compactInBackground);
+    }
+
+    private void compactInBackground() {
+        try {
+            compact();
+        } catch (IOException e) {
+            Metrics.failures("kv", "compact").increment();
+            System.out.println("Failed compact " + path + ": " + e.getMessage());
+        } finally {
+            compactQueued.set(false);
+        }
+    }
+
+    private static ByteBuffer encode(byte[] key, byte[] value) {
+        int valueLen = value == null ? -1 : value.length;
+        ByteBuffer buf = ByteBuffer.allocate(HEADER + key.length + Math.max(valueLen, 0));
+        buf.putInt(0).putInt(key.length).putInt(valueLen).put(key);
+        if (value != null) buf.put(value);
+        CRC32 crc = new CRC32();
+        crc.update(buf.array(), 4, buf.capacity() - 4);
+        buf.putInt(0, (int) crc.getValue());
+        return buf.flip();
+    }
+
+    // Makes every put so far durable; concurrent callers share one fsync.
+    public void sync() throws IOException {
+        long ticket;
+        synchronized (lock) {
+            ticket = appended;
+        }
+        synchronized (syncLock) {
+            if (synced >= ticket) return;
+            long target;
+            synchronized (lock) {
+                target = appended;
+            }
+            channel.force(false);
+            FSYNCS.increment();
+            synced = target;
+        }
+    }
+
+    // Rewrites live entries to a fresh file and swaps it in atomically. Values live at a
+    // copy point are copied unlocked; records appended after it are copied verbatim,
+    // tombstones included, under the locks just before the swap.
+    public void compact() throws IOException {
+        synchronized (compactLock) {
+            Map<String, Slot> copied;
+            long copyEnd;
+            synchronized (lock) {
+                if (closed) return;
+                copied = new LinkedHashMap<>(index);
+                copyEnd = end;
+            }
+            Path tmp = path.resolveSibling(path.getFileName() + ".compact");
+            try {
+                Map<String, Slot> moved = new LinkedHashMap<>();
+                long pos = 0;
+                try (FileChannel out = FileChannel.open(tmp, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                        StandardOpenOption.TRUNCATE_EXISTING)) {
+                    // Positional reads are safe alongside appends, which never touch earlier bytes
+                    for (var e : copied.entrySet()) {
+                        byte[] k = e.getKey().getBytes(StandardCharsets.UTF_8);
+                        ByteBuffer buf = encode(k, read(e.getValue()));
+                        moved.put(e.getKey(), new Slot(pos + HEADER + k.length, e.getValue().length));
+                        while (buf.hasRemaining()) pos += out.write(buf, pos);
+                    }
+                }
+                synchronized (syncLock) {
+                    synchronized (lock) {
+                        if (closed) return;
+                        try (FileChannel out = FileChannel.open(tmp, StandardOpenOption.WRITE)) {
+                            pos = copyTail(copyEnd, out, pos, moved);
+                            out.force(true);
+                        }
+                        FSYNCS.increment();
+                        BYTES.add(pos);
+                        channel.close();
+                        Files.move(tmp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                        AtomicFileWriter.syncDirectory(path.toAbsolutePath().getParent());
+                        channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE);
+                        index.clear();
+                        index.putAll(moved);
+                        liveBytes = 0;
+                        for (var e : moved.entrySet()) {
+                            liveBytes += HEADER + e.getKey().getBytes(StandardCharsets.UTF_8).length + e.getValue().length;
+                        }
+                        end = pos;
+                        synced = appended;
+                    }
+                }
+            } finally {
+                Files.deleteIfExists(tmp);
+            }
+        }
+    }
+
+    // Appends the records in [from, end) of the current file to out at pos and applies them to moved
+    private long copyTail(long from, FileChannel out, long pos, Map<String, Slot> moved) throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(HEADER);
+        while (from < end) {
+            header.clear();
+            while (header.hasRemaining()) channel.read(header, from + header.position());
+            int keyLen = header.getInt(4), valueLen = header.getInt(8);
+            ByteBuffer record = ByteBuffer.allocate(HEADER + keyLen + Math.max(valueLen, 0));
+            while (record.hasRemaining()) channel.read(record, from + record.position());
+            String key = new String(record.array(), HEADER, keyLen, StandardCharsets.UTF_8);
+            if (valueLen < 0) moved.remove(key);
+            else moved.put(key, new Slot(pos + HEADER + keyLen, valueLen));
+            record.flip();
+            while (record.hasRemaining()) pos += out.write(record, pos);
+            from += record.capacity();
+        }
+        return pos;
+    }
+
+    public int size() {
+        synchronized (lock) {
+            return index.size();
+        }
+    }
+
+    public long fileSize() {
+        synchronized (lock) {
+            return end;
+        }
+    }
+
+    @Override
+    // Waits for a running compaction; one still queued finds the store closed and skips
+    public void close() throws IOException {
+        synchronized (compactLock) {
+            synchronized (syncLock) {
+                synchronized (lock) {
+                    closed = true;
+                    channel.force(false);
+                    FSYNCS.increment();
+                    channel.close();
+                }
+            }
+        }
+    }
+}
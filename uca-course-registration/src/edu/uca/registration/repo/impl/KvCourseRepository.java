@@ -0,0 +1,98 @@
+package edu.uca.registration.repo.impl;
+
+import edu.uca.registration.model.Course;
+import edu.uca.registration.model.MeetingTime;
+import edu.uca.registration.repo.CourseRepository;
+import java.io.*;
+import java.nio.file.Path;
+import java.util.*;
+
+// CourseRepository on a KeyValueStore: saving a course appends and commits one record.
+public class KvCourseRepository implements CourseRepository {
+    private static final String COURSES_KV = "courses.kv";
+    private final KeyValueStore store;
+    // Copy-on-write: readers never lock, writers publish a new map
+    private volatile Map<String, Course> courses = new LinkedHashMap<>();
+
+    public KvCourseRepository() {
+        this(COURSES_KV);
+    }
+
+    public KvCourseRepository(String coursesFile) {
+        try {
+            store = KeyValueStore.open(Path.of(coursesFile));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed open courses: " + e.getMessage(), e);
+        }
+        try {
+            Map<String, Course> loaded = new LinkedHashMap<>();
+            store.forEach((code, value) -> loaded.put(code, decode(code, value)));
+            courses = loaded;
+        } catch (Exception e) {
+            System.out.println("Failed load courses: " + e.getMessage());
+        }
+    }
+
+    static byte[] encode(Course c) throws IOException {
+        var bytes = new ByteArrayOutputStream();
+        try (var out = new DataOutputStream(bytes)) {
+            out.writeUTF(c.title);
+            out.writeInt(c.capacity);
+            if (c.meetingTime != null || !c.prerequisites.isEmpty()) {
+                out.writeUTF(c.meetingTime == null ? "" : c.meetingTime.toString());
+            }
+            if (!c.prerequisites.isEmpty()) {
+                out.writeInt(c.prerequisites.size());
+                for (String p : c.prerequisites) out.writeUTF(p);
+            }
+        }
+        return bytes.toByteArray();
+    }
+
+    private static Course decode(String code, byte[] value) {
+        try (var in = new DataInputStream(new ByteArrayInputStream(value))) {
+            Course course = new Course(code, in.readUTF(), in.readInt());
+            String meetingTime = in.available() > 0 ? in.readUTF() : "";
+            if (!meetingTime.isEmpty()) course.meetingTime = MeetingTime.parse(meetingTime);
+            if (in.available() > 0) {
+                for (int n = in.readInt(); n > 0; n--) course.prerequisites.add(in.readUTF());
+            }
+            return course;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public synchronized void save(Course course) {
+        Map<String, Course> next = new LinkedHashMap<>(courses);
+        next.put(course.code, course);
+        courses = next;
+        try {
+            store.put(course.code, encode(course));
+            store.sync();
+        } catch (Exception e) {
+            System.out.println("Failed save courses: " + e.getMessage());
+        }
+    }
+
+    @Override
+    public Course findByCode(String code) {
+        return courses.get(code);
+    }
+
+    @Override
+    public List<Course> findAll() {
+        return new ArrayList<>(courses.values());
+    }
+
+    @Override
+    public boolean existsByCode(String code) {
+        return courses.containsKey(code);
+    }
+
+    @Override
+    public Map<String, Course> getAllCoursesMap() {
+        return Collections.unmodifiableMap(courses);
+    }
+}
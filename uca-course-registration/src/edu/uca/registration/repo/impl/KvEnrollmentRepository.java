@@ -0,0 +1,115 @@
+package edu.uca.registration.repo.impl;
+
+import edu.uca.registration.model.Course;
+import edu.uca.registration.repo.CourseRepository;
+import edu.uca.registration.repo.EnrollmentRepository;
+import java.io.*;
+import java.nio.file.Path;
+
+/**
+ * EnrollmentRepository on a KeyValueStore with one record per course holding its
+ * roster and waitlist. Each journaled change rewrites only that course's record
+ * (taking the course lock, which the service may already hold, so the record never
+ * sees a roster mid-change); {@link #flush} commits.
+ */
+public class KvEnrollmentRepository implements EnrollmentRepository {
+    private static final String ENROLLMENTS_KV = "enrollments.kv";
+    private final CourseRepository courseRepository;
+    private final KeyValueStore store;
+
+    public KvEnrollmentRepository(CourseRepository courseRepository) {
+        this(courseRepository, ENROLLMENTS_KV);
+    }
+
+    public KvEnrollmentRepository(CourseRepository courseRepository, String enrollmentsFile) {
+        this.courseRepository = courseRepository;
+        try {
+            store = KeyValueStore.open(Path.of(enrollmentsFile));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed open enrollments: " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public void loadEnrollments() {
+        try {
+            store.forEach((code, value) -> {
+                Course course = courseRepository.findByCode(code);
+                if (course != null) decodeInto(course, value);
+            });
+        } catch (Exception e) {
+            System.out.println("Failed load enrollments: " + e.getMessage());
+        }
+    }
+
+    static byte[] encode(Course course) throws IOException {
+        var bytes = new ByteArrayOutputStream();
+        try (var out = new DataOutputStream(bytes)) {
+            out.writeInt(course.roster.size());
+            for (String sid : course.roster) out.writeUTF(sid);
+            out.writeInt(course.waitlist.size());
+            for (String sid : course.waitlist) out.writeUTF(sid);
+        }
+        return bytes.toByteArray();
+    }
+
+    private static void decodeInto(Course course, byte[] value) {
+        try (var in = new DataInputStream(new ByteArrayInputStream(value))) {
+            course.roster.clear();
+            course.waitlist.clear();
+            for (int n = in.readInt(); n > 0; n--) course.roster.add(in.readUTF());
+            for (int n = in.readInt(); n > 0; n--) course.waitlist.add(in.readUTF());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public void saveEnrollments() {
+        try {
+            for (Course course : courseRepository.findAll()) {
+                synchronized (course) {
+                    writeCourse(course);
+                }
+            }
+            store.sync();
+        } catch (Exception e) {
+            System.out.println("Failed save enrollments: " + e.getMessage());
+        }
+    }
+
+    private void writeCourse(Course course) throws IOException {
+        if (course.roster.isEmpty() && course.waitlist.isEmpty()) {
+            store.delete(course.code);
+        } else {
+            store.put(course.code, encode(course));
+        }
+    }
+
+    @Override
+    public void recordChange(Mutation mutation, String courseCode, String studentId) {
+        Course course = courseRepository.findByCode(courseCode);
+        if (course == null) return;
+        try {
+            synchronized (course) {
+                writeCourse(course);
+            }
+        } catch (IOException e) {
+            System.out.println("Failed record enrollment: " + e.getMessage());
+        }
+    }
+
+    @Override
+    public void recordPromotion(String courseCode, String droppedId, String promotedId) {
+        recordChange(Mutation.PROMOTE, courseCode, droppedId);
+    }
+
+    @Override
+    public void flush() {
+        try {
+            store.sync();
+        } catch (IOException e) {
+            System.out.println("Failed sync enrollments: " + e.getMessage());
+        }
+    }
+}
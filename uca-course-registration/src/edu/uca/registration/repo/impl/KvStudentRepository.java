@@ -0,0 +1,92 @@
+package edu.uca.registration.repo.impl;
+
+import edu.uca.registration.model.Student;
+import edu.uca.registration.repo.StudentRepository;
+import java.io.*;
+import java.nio.file.Path;
+import java.util.*;
+
+// StudentRepository on a KeyValueStore: saving a student appends and commits one record.
+public class KvStudentRepository implements StudentRepository {
+    private static final String STUDENTS_KV = "students.kv";
+    private final KeyValueStore store;
+    // Copy-on-write: readers never lock, writers publish a new map
+    private volatile Map<String, Student> students = new LinkedHashMap<>();
+
+    public KvStudentRepository() {
+        this(STUDENTS_KV);
+    }
+
+    public KvStudentRepository(String studentsFile) {
+        try {
+            store = KeyValueStore.open(Path.of(studentsFile));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed open students: " + e.getMessage(), e);
+        }
+        try {
+            Map<String, Student> loaded = new LinkedHashMap<>();
+            store.forEach((id, value) -> loaded.put(id, decode(id, value)));
+            students = loaded;
+        } catch (Exception e) {
+            System.out.println("Failed load students: " + e.getMessage());
+        }
+    }
+
+    static byte[] encode(Student s) throws IOException {
+        var bytes = new ByteArrayOutputStream();
+        try (var out = new DataOutputStream(bytes)) {
+            out.writeUTF(s.name);
+            out.writeUTF(s.email);
+            if (!s.completedCourses.isEmpty()) {
+                out.writeInt(s.completedCourses.size());
+                for (String code : s.completedCourses) out.writeUTF(code);
+            }
+        }
+        return bytes.toByteArray();
+    }
+
+    private static Student decode(String id, byte[] value) {
+        try (var in = new DataInputStream(new ByteArrayInputStream(value))) {
+            Student student = new Student(id, in.readUTF(), in.readUTF());
+            if (in.available() > 0) {
+                for (int n = in.readInt(); n > 0; n--) student.completedCourses.add(in.readUTF());
+            }
+            return student;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public synchronized void save(Student student) {
+        Map<String, Student> next = new LinkedHashMap<>(students);
+        next.put(student.id, student);
+        students = next;
+        try {
+            store.put(student.id, encode(student));
+            store.sync();
+        } catch (Exception e) {
+            System.out.println("Failed save students: " + e.getMessage());
+        }
+    }
+
+    @Override
+    public Student findById(String bannerId) {
+        return students.get(bannerId);
+    }
+
+    @Override
+    public List<Student> findAll() {
+        return new ArrayList<>(students.values());
+    }
+
+    @Override
+    public boolean existsById(String bannerId) {
+        return students.containsKey(bannerId);
+    }
+
+    @Override
+    public Map<String, Student> getAllStudentsMap() {
+        return Collections.unmodifiableMap(students);
+    }
+}
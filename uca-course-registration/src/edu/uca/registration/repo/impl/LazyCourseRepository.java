@@ -0,0 +1,53 @@
+package edu.uca.registration.repo.impl;
+
+import edu.uca.registration.model.Course;
+import edu.uca.registration.repo.CourseRepository;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+// Defers constructing (and so loading) the wrapped repository until it is first used.
+public class LazyCourseRepository implements CourseRepository {
+    private final LazyRef<CourseRepository> delegate;
+
+    public LazyCourseRepository(Supplier<CourseRepository> loader) {
+        this.delegate = new LazyRef<>(loader);
+    }
+
+    public LazyCourseRepository preload() {
+        delegate.preload("course-loader");
+        return this;
+    }
+
+    @Override
+    public void save(Course course) {
+        delegate.get().save(course);
+    }
+
+    @Override
+    public Course findByCode(String code) {
+        return delegate.get().findByCode(code);
+    }
+
+    @Override
+    public List<Course> findAll() {
+        return delegate.get().findAll();
+    }
+
+    @Override
+    public boolean existsByCode(String code) {
+        return delegate.get().existsByCode(code);
+    }
+
+    @Override
+    public Map<String, Course> getAllCoursesMap() {
+        return delegate.get().getAllCoursesMap();
+    }
+
+    // Nothing can be pending if the repository was never loaded
+    @Override
+    public void flush() {
+        var loaded = delegate.peek();
+        if (loaded != null) loaded.flush();
+    }
+}
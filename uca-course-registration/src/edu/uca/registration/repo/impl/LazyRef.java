@@ -0,0 +1,35 @@
+package edu.uca.registration.repo.impl;
+
+import java.util.function.Supplier;
+
+// Runs a loader once, on first use or on a background thread, whichever comes first.
+final class LazyRef<T> {
+    private final Supplier<T> loader;
+    private volatile T value;
+
+    LazyRef(Supplier<T> loader) {
+        this.loader = loader;
+    }
+
+    T get() {
+        T v = value;
+        if (v == null) {
+            synchronized (this) {
+                v = value;
+                if (v == null) value = v = loader.get();
+            }
+        }
+        return v;
+    }
+
+    // The value if already loaded, otherwise null without loading it
+    T peek() {
+        return value;
+    }
+
+    void preload(String threadName) {
+        Thread t = new Thread(this::get, threadName);
+        t.setDaemon(true);
+        t.start();
+    }
+}
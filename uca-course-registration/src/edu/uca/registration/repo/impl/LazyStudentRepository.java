@@ -0,0 +1,53 @@
+package edu.uca.registration.repo.impl;
+
+import edu.uca.registration.model.Student;
+import edu.uca.registration.repo.StudentRepository;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+// Defers constructing (and so loading) the wrapped repository until it is first used.
+public class LazyStudentRepository implements StudentRepository {
+    private final LazyRef<StudentRepository> delegate;
+
+    public LazyStudentRepository(Supplier<StudentRepository> loader) {
+        this.delegate = new LazyRef<>(loader);
+    }
+
+    public LazyStudentRepository preload() {
+        delegate.preload("student-loader");
+        return this;
+    }
+
+    @Override
+    public void save(Student student) {
+        delegate.get().save(student);
+    }
+
+    @Override
+    public Student findById(String bannerId) {
+        return delegate.get().findById(bannerId);
+    }
+
+    @Override
+    public List<Student> findAll() {
+        return delegate.get().findAll();
+    }
+
+    @Override
+    public boolean existsById(String bannerId) {
+        return delegate.get().existsById(bannerId);
+    }
+
+    @Override
+    public Map<String, Student> getAllStudentsMap() {
+        return delegate.get().getAllStudentsMap();
+    }
+
+    // Nothing can be pending if the repository was never loaded
+    @Override
+    public void flush() {
+        var loaded = delegate.peek();
+        if (loaded != null) loaded.flush();
+    }
+}
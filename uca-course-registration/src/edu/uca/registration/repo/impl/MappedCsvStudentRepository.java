@@ -0,0 +1,243 @@
+package edu.uca.registration.repo.impl;
+
+import edu.uca.registration.model.Student;
+import edu.uca.registration.repo.StudentRepository;
+import java.io.*;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Read-mostly student repository for large archives. students.csv is memory-mapped
+ * and indexed by banner ID in an open-addressing table of row offsets, so startup
+ * does no parsing beyond the ID column and Student objects are only built in
+ * {@link #findById}. Saves append a row to the file instead of rewriting it; the
+ * newest row for an ID wins on the next open.
+ */
+public class MappedCsvStudentRepository implements StudentRepository {
+    private static final String STUDENTS_CSV = "students.csv";
+    private final String studentsFile;
+    private MappedByteBuffer data;
+    private int size;
+    // Row offset + 1 per slot, 0 = empty
+    private long[] table = new long[16];
+    private int entries;
+    // Students saved since the file was mapped
+    private final Map<String, Student> overlay = new ConcurrentHashMap<>();
+    private final byte[] scratch = new byte[256];
+    private final byte[] probe = new byte[256];
+    private boolean needsNewline;
+
+    public MappedCsvStudentRepository() {
+        this(STUDENTS_CSV);
+    }
+
+    public MappedCsvStudentRepository(String studentsFile) {
+        this.studentsFile = studentsFile;
+        mapStudents();
+    }
+
+    private void mapStudents() {
+        Path path = Path.of(studentsFile);
+        if (!Files.exists(path)) return;
+        try (FileChannel ch = FileChannel.open(path, StandardOpenOption.READ)) {
+            if (ch.size() > Integer.MAX_VALUE) {
+                throw new IOException("File too large to map: " + ch.size() + " bytes");
+            }
+            size = (int) ch.size();
+            data = ch.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            needsNewline = size > 0 && data.get(size - 1) != '\n';
+        } catch (Exception e) {
+            System.out.println("Failed load students: " + e.getMessage());
+            data = null;
+            size = 0;
+            return;
+        }
+        for (int pos = 0; pos < size; pos = nextRow(pos)) {
+            int keyLen = readKey(pos, scratch);
+            if (keyLen > 0 && hasFields(pos, 3)) insert(pos, keyLen);
+        }
+    }
+
+    // Rows with too few fields are skipped, as CsvStudentRepository does
+    private boolean hasFields(int pos, int wanted) {
+        int fields = 1;
+        boolean quoted = false;
+        for (; pos < size && fields < wanted; pos++) {
+            byte b = data.get(pos);
+            if (b == '"') quoted = !quoted;
+            else if (!quoted && b == ',') fields++;
+            else if (!quoted && b == '\n') break;
+        }
+        return fields >= wanted;
+    }
+
+    private int nextRow(int pos) {
+        return rowEnd(pos) + 1;
+    }
+
+    // Offset of the newline ending the row at pos, or size. A quoted field may hold
+    // newlines; as in DelimitedRecordReader, a quote only opens one at the field's start.
+    private int rowEnd(int pos) {
+        boolean quoted = false;
+        boolean fieldStart = true;
+        for (; pos < size; pos++) {
+            byte b = data.get(pos);
+            if (quoted) {
+                if (b == '"') {
+                    if (pos + 1 < size && data.get(pos + 1) == '"') pos++;
+                    else quoted = false;
+                }
+                continue;
+            }
+            if (b == '\n') return pos;
+            quoted = b == '"' && fieldStart;
+            fieldStart = b == ',';
+        }
+        return size;
+    }
+
+    // Copies the unescaped first field of the row at pos into out; -1 if the row is not a usable record
+    private int readKey(int pos, byte[] out) {
+        int len = 0;
+        boolean quoted = pos < size && data.get(pos) == '"';
+        if (quoted) pos++;
+        while (pos < size) {
+            byte b = data.get(pos++);
+            if (quoted) {
+                if (b == '"') {
+                    if (pos < size && data.get(pos) == '"') {
+                        pos++;
+                    } else {
+                        quoted = false;
+                        continue;
+                    }
+                }
+            } else if (b == ',') {
+                return len;
+            } else if (b == '\n' || b == '\r') {
+                return -1;
+            }
+            if (len == out.length) return -1;
+            out[len++] = b;
+        }
+        return -1;
+    }
+
+    private static int hash(byte[] key, int len) {
+        int h = 0;
+        for (int i = 0; i < len; i++) h = 31 * h + key[i];
+        return h ^ (h >>> 16);
+    }
+
+    private void insert(int offset, int keyLen) {
+        if ((entries + 1) * 2 > table.length) rehash();
+        int mask = table.length - 1;
+        int slot = hash(scratch, keyLen) & mask;
+        while (table[slot] != 0) {
+            int otherLen = readKey((int) (table[slot] - 1), probe);
+            if (Arrays.equals(scratch, 0, keyLen, probe, 0, otherLen)) {
+                table[slot] = offset + 1L;
+                return;
+            }
+            slot = (slot + 1) & mask;
+        }
+        table[slot] = offset + 1L;
+        entries++;
+    }
+
+    private void rehash() {
+        long[] old = table;
+        table = new long[old.length * 2];
+        int mask = table.length - 1;
+        for (long entry : old) {
+            if (entry == 0) continue;
+            int slot = hash(probe, readKey((int) (entry - 1), probe)) & mask;
+            while (table[slot] != 0) slot = (slot + 1) & mask;
+            table[slot] = entry;
+        }
+    }
+
+    // Offset of the newest row for bannerId, or -1
+    private int find(String bannerId) {
+        if (data == null) return -1;
+        byte[] key = bannerId.getBytes(StandardCharsets.UTF_8);
+        byte[] other = new byte[Math.max(key.length, 1) + 1];
+        int mask = table.length - 1;
+        int slot = hash(key, key.length) & mask;
+        while (table[slot] != 0) {
+            int offset = (int) (table[slot] - 1);
+            int otherLen = readKey(offset, other);
+            if (otherLen == key.length && Arrays.equals(key, 0, key.length, other, 0, otherLen)) return offset;
+            slot = (slot + 1) & mask;
+        }
+        return -1;
+    }
+
+    private Student materialize(int offset) {
+        int end = rowEnd(offset);
+        byte[] row = new byte[end - offset];
+        data.get(offset, row);
+        try (var reader = new DelimitedRecordReader(Channels.newChannel(new ByteArrayInputStream(row)), ',', row.length + 1)) {
+            if (!reader.next() || reader.fieldCount() < 3) return null;
+            Student student = new Student(reader.field(0), reader.field(1), reader.field(2));
+            if (reader.fieldCount() > 3) CsvStudentRepository.addCodes(student.completedCourses, reader.field(3));
+            return student;
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    @Override
+    public synchronized void save(Student student) {
+        try (var out = new DelimitedRecordWriter(new BufferedWriter(new OutputStreamWriter(
+                new FileOutputStream(studentsFile, true), StandardCharsets.UTF_8)), ',')) {
+            if (needsNewline) {
+                out.endRecord();
+                needsNewline = false;
+            }
+            out.field(student.id).field(student.name).field(student.email);
+            if (!student.completedCourses.isEmpty()) out.field(String.join(";", student.completedCourses));
+            out.endRecord();
+        } catch (Exception e) {
+            System.out.println("Failed save students: " + e.getMessage());
+        }
+        overlay.put(student.id, student);
+    }
+
+    @Override
+    public Student findById(String bannerId) {
+        Student s = overlay.get(bannerId);
+        if (s != null) return s;
+        int offset = find(bannerId);
+        return offset < 0 ? null : materialize(offset);
+    }
+
+    @Override
+    public boolean existsById(String bannerId) {
+        return overlay.containsKey(bannerId) || find(bannerId) >= 0;
+    }
+
+    // Full scan; materializes every student
+    @Override
+    public List<Student> findAll() {
+        return new ArrayList<>(getAllStudentsMap().values());
+    }
+
+    @Override
+    public Map<String, Student> getAllStudentsMap() {
+        Map<String, Student> all = new LinkedHashMap<>();
+        for (int pos = 0; pos < size; pos = nextRow(pos)) {
+            Student s = materialize(pos);
+            if (s != null && find(s.id) == pos) all.put(s.id, s);
+        }
+        all.putAll(overlay);
+        return Collections.unmodifiableMap(all);
+    }
+}
@@ -0,0 +1,148 @@
+package edu.uca.registration.repo.impl;
+
+import edu.uca.registration.model.Course;
+import edu.uca.registration.repo.CourseRepository;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Journaling and checkpointing as in CsvEnrollmentRepository, with the snapshot split
+ * into one segment file per course under a directory. Each segment holds that course's
+ * rows in the usual code|student|status format. A save compares every course's
+ * {@link Course#changeCount} with the count its segment was written at and rewrites
+ * only the courses that changed, so its cost follows churn rather than total
+ * enrollments; a checkpoint rewrites only the segments its log mentions.
+ *
+ * The first load or save with no segment directory migrates an existing enrollments.csv.
+ */
+public class SegmentedEnrollmentRepository extends CsvEnrollmentRepository {
+    private static final String ENROLLMENTS_DIR = "enrollments.d";
+    private static final String ENROLLMENTS_CSV = "enrollments.csv";
+    private static final String ENROLLMENTS_LOG = "enrollments.log";
+    private final Path segmentDir;
+    private final Path legacyFile;
+    // Change count each live course had when its segment was last written or read;
+    // only touched under the checkpoint lock
+    private final Map<Course, Long> savedVersions = new IdentityHashMap<>();
+
+    public SegmentedEnrollmentRepository(CourseRepository courseRepository) {
+        this(courseRepository, ENROLLMENTS_DIR, ENROLLMENTS_LOG, ENROLLMENTS_CSV);
+    }
+
+    public SegmentedEnrollmentRepository(CourseRepository courseRepository, String segmentDir, String logFile,
+                                         String legacyFile) {
+        super(courseRepository, segmentDir, logFile);
+        this.segmentDir = Path.of(segmentDir);
+        this.legacyFile = Path.of(legacyFile);
+    }
+
+    // Every byte outside [A-Za-z0-9_-] is percent-encoded, so no code can name ".", "..",
+    // a path separator or a glob character
+    static Path segment(Path dir, String code) {
+        StringBuilder name = new StringBuilder(code.length() + 4);
+        for (byte b : code.getBytes(StandardCharsets.UTF_8)) {
+            char ch = (char) (b & 0xff);
+            if ((ch >= 'A' && ch <= 'Z') || (ch >= 'a' && ch <= 'z') || (ch >= '0' && ch <= '9') || ch == '_' || ch == '-') {
+                name.append(ch);
+            } else {
+                name.append('%').append(Character.toUpperCase(Character.forDigit(ch >> 4, 16)))
+                        .append(Character.toUpperCase(Character.forDigit(ch & 0xf, 16)));
+            }
+        }
+        return dir.resolve(name.append(".csv").toString());
+    }
+
+    @Override
+    protected void readSnapshot(Path dir, Map<String, Course> courses, boolean addMissing) {
+        migrateLegacy(dir);
+        if (!Files.isDirectory(dir)) return;
+        if (addMissing) {
+            try (var segments = Files.newDirectoryStream(dir, "*.csv")) {
+                for (Path f : segments) super.readSnapshot(f, courses, true);
+            } catch (IOException e) {
+                System.out.println("Failed load enrollments: " + e.getMessage());
+            }
+            return;
+        }
+        for (Course course : courses.values()) {
+            synchronized (course) {
+                // A course that already holds students no longer matches its segment
+                boolean fresh = course.roster.isEmpty() && course.waitlist.isEmpty();
+                Path f = segment(dir, course.code);
+                if (Files.exists(f)) super.readSnapshot(f, Map.of(course.code, course), false);
+                if (fresh) savedVersions.put(course, course.changeCount());
+            }
+        }
+    }
+
+    @Override
+    protected void writeSnapshot(Path dir, Collection<Course> courses) throws IOException {
+        migrateLegacy(dir);
+        Files.createDirectories(dir);
+        for (Course course : courses) {
+            synchronized (course) {
+                long version = course.changeCount();
+                Long saved = savedVersions.get(course);
+                if (saved != null && saved == version) continue;
+                writeSegment(dir, course);
+                savedVersions.put(course, version);
+            }
+        }
+    }
+
+    // Callers hold the course lock, or own the course outright
+    private void writeSegment(Path dir, Course course) throws IOException {
+        Path f = segment(dir, course.code);
+        if (course.roster.isEmpty() && course.waitlist.isEmpty()) {
+            Files.deleteIfExists(f);
+        } else {
+            super.writeSnapshot(f, List.of(course));
+        }
+    }
+
+    // Only the courses the sealed log mentions are read, replayed and rewritten
+    @Override
+    protected void foldLog(Path sealed) throws IOException {
+        migrateLegacy(segmentDir);
+        Files.createDirectories(segmentDir);
+        Map<String, Course> scratch = new LinkedHashMap<>();
+        EnrollmentLog.replay(sealed, p -> {
+            if (p.length >= 3) applyMutation(scratch.computeIfAbsent(p[1], code -> readSegment(segmentDir, code)), p);
+        });
+        for (Course course : scratch.values()) writeSegment(segmentDir, course);
+    }
+
+    private Course readSegment(Path dir, String code) {
+        Map<String, Course> one = new HashMap<>();
+        one.put(code, new Course(code, "", 0));
+        Path f = segment(dir, code);
+        if (Files.exists(f)) super.readSnapshot(f, one, false);
+        return one.get(code);
+    }
+
+    // Splits enrollments.csv into segments next to the target, then moves them in with one rename
+    private void migrateLegacy(Path dir) {
+        if (Files.isDirectory(dir) || !Files.exists(legacyFile)) return;
+        Path staging = dir.resolveSibling(dir.getFileName() + ".tmp");
+        try {
+            Map<String, Course> scratch = new LinkedHashMap<>();
+            super.readSnapshot(legacyFile, scratch, true);
+            Files.createDirectories(staging);
+            for (Course course : scratch.values()) writeSegment(staging, course);
+            Files.move(staging, dir, StandardCopyOption.ATOMIC_MOVE);
+            AtomicFileWriter.syncDirectory(dir.toAbsolutePath().getParent());
+            System.out.println("Migrated " + scratch.size() + " courses from " + legacyFile + " to " + dir);
+        } catch (IOException e) {
+            System.out.println("Failed migrate enrollments: " + e.getMessage());
+        }
+    }
+}
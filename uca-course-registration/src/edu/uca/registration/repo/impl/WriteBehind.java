@@ -0,0 +1,151 @@
+package edu.uca.registration.repo.impl;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Write-behind for repositories that rewrite a whole file per save. {@link #markDirty}
+ * only counts a change; a background flusher runs the writer once the oldest unwritten
+ * change is maxStaleness old or dirtyThreshold changes have piled up, so a burst of
+ * saves costs one file write. The writer must write the repository's state as of the
+ * moment it runs, since changes made while it runs are written by the next pass.
+ * It returns false when the write failed; the changes then stay dirty and the flusher
+ * retries them once maxStaleness has passed again.
+ */
+public final class WriteBehind implements AutoCloseable {
+    private final BooleanSupplier writer;
+    private final long maxStalenessNanos;
+    private final int dirtyThreshold;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition changed = lock.newCondition();
+    // Held for the duration of a write so the flusher and flush() never overlap
+    private final Object writeLock = new Object();
+    private final Thread flusher;
+    private int dirty;
+    private long oldestDirtyAt;
+    private boolean backingOff;
+    private long retryAt;
+    private boolean closed;
+
+    public WriteBehind(String name, BooleanSupplier writer, long maxStaleness, TimeUnit unit, int dirtyThreshold) {
+        if (maxStaleness < 1) throw new IllegalArgumentException("Max staleness must be positive");
+        if (dirtyThreshold < 1) throw new IllegalArgumentException("Dirty threshold must be at least 1");
+        this.writer = writer;
+        this.maxStalenessNanos = unit.toNanos(maxStaleness);
+        this.dirtyThreshold = dirtyThreshold;
+        this.flusher = new Thread(this::run, name);
+        flusher.setDaemon(true);
+        flusher.start();
+    }
+
+    public void markDirty() {
+        lock.lock();
+        try {
+            if (dirty++ == 0) oldestDirtyAt = System.nanoTime();
+            // The flusher only needs waking for the first change and at the threshold
+            if (dirty == 1 || dirty == dirtyThreshold) changed.signal();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Changes marked but not yet written
+    public int pendingChanges() {
+        lock.lock();
+        try {
+            return dirty;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Writes now if anything is dirty; returns once everything marked so far is written,
+    // or false if the writer failed and left those changes dirty
+    public boolean flush() {
+        synchronized (writeLock) {
+            int taken;
+            long since;
+            lock.lock();
+            try {
+                if (dirty == 0) return true;
+                taken = dirty;
+                since = oldestDirtyAt;
+                dirty = 0;
+            } finally {
+                lock.unlock();
+            }
+            boolean ok;
+            try {
+                ok = writer.getAsBoolean();
+            } catch (RuntimeException e) {
+                System.out.println("Failed write-behind flush: " + e.getMessage());
+                ok = false;
+            }
+            settle(ok, taken, since);
+            return ok;
+        }
+    }
+
+    // Puts a failed write's changes back, keeping the older of the two dirty timestamps
+    private void settle(boolean ok, int taken, long since) {
+        lock.lock();
+        try {
+            backingOff = !ok;
+            if (ok) return;
+            if (dirty == 0 || since - oldestDirtyAt < 0) oldestDirtyAt = since;
+            dirty += taken;
+            retryAt = System.nanoTime() + maxStalenessNanos;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void run() {
+        while (awaitDue()) flush();
+        flush();
+    }
+
+    // False once closed
+    private boolean awaitDue() {
+        lock.lock();
+        try {
+            while (!closed) {
+                if (dirty == 0) {
+                    changed.awaitUninterruptibly();
+                    continue;
+                }
+                // After a failure neither the threshold nor the old timestamp forces an early retry
+                long due = backingOff ? retryAt : oldestDirtyAt + maxStalenessNanos;
+                long wait = due - System.nanoTime();
+                if (wait <= 0 || (!backingOff && dirty >= dirtyThreshold)) return true;
+                try {
+                    changed.awaitNanos(wait);
+                } catch (InterruptedException e) {
+                    return false;
+                }
+            }
+            return false;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Stops the flusher after it has written whatever is still dirty
+    @Override
+    public void close() {
+        lock.lock();
+        try {
+            closed = true;
+            changed.signal();
+        } finally {
+            lock.unlock();
+        }
+        try {
+            flusher.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,248 @@
+package edu.uca.registration.service;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Front door for enroll/drop surges. Submitting never waits on registration work:
+ * a command is queued on the shard that owns its course and a future completes
+ * once it has been applied. Each shard has a single writer thread that drains
+ * commands in batches through {@link RegistrationService#applyBatch}, so a course
+ * is only ever touched by one thread and a batch shares one flush. Within a shard
+ * students take turns, so a student's own commands stay in order without letting
+ * one student crowd out the rest. Once capacity commands are waiting, new ones are
+ * rejected with a retry-after hint instead of piling up.
+ */
+public class AdmissionQueue implements EnrollmentGateway {
+    private static final int MAX_BATCH = 64;
+
+    private final RegistrationService registrationService;
+    private final int capacity;
+    private final Shard[] shards;
+    private final AtomicInteger depth = new AtomicInteger();
+    private final LongAdder admitted = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder completed = new LongAdder();
+    private final LongAdder totalWaitNanos = new LongAdder();
+    private final AtomicLong maxWaitNanos = new AtomicLong();
+    // Smoothed cost of applying one command, for retry-after estimates
+    private volatile long nanosPerCommand;
+    private volatile boolean closed;
+
+    // Thrown (through the returned future) when the queue is full
+    public static class Rejected extends RejectedExecutionException {
+        private static final long serialVersionUID = 1L;
+        public final int retryAfterSeconds;
+
+        Rejected(int retryAfterSeconds) {
+            super("Admission queue full, retry after " + retryAfterSeconds + "s");
+            this.retryAfterSeconds = retryAfterSeconds;
+        }
+    }
+
+    private static final class Pending {
+        final EnrollmentCommand command;
+        final long enqueuedAt = System.nanoTime();
+        final CompletableFuture<EnrollmentResult> result = new CompletableFuture<>();
+
+        Pending(EnrollmentCommand command) {
+            this.command = command;
+        }
+    }
+
+    public AdmissionQueue(RegistrationService registrationService, int shardCount, int capacity) {
+        if (shardCount < 1) throw new IllegalArgumentException("Shard count must be at least 1");
+        if (capacity < 1) throw new IllegalArgumentException("Capacity must be at least 1");
+        this.registrationService = registrationService;
+        this.capacity = capacity;
+        this.shards = new Shard[shardCount];
+        for (int i = 0; i < shardCount; i++) shards[i] = new Shard(i);
+    }
+
+    @Override
+    public CompletableFuture<EnrollmentResult> submit(EnrollmentCommand command) {
+        if (closed) {
+            rejected.increment();
+            return CompletableFuture.failedFuture(new RejectedExecutionException("Admission queue closed"));
+        }
+        if (depth.incrementAndGet() > capacity) {
+            depth.decrementAndGet();
+            rejected.increment();
+            return CompletableFuture.failedFuture(new Rejected(retryAfterSeconds()));
+        }
+        Pending p = new Pending(command);
+        if (!shardOf(command.courseCode).offer(p)) {
+            depth.decrementAndGet();
+            rejected.increment();
+            return CompletableFuture.failedFuture(new RejectedExecutionException("Admission queue closed"));
+        }
+        admitted.increment();
+        return p.result;
+    }
+
+    private Shard shardOf(String courseCode) {
+        int h = courseCode == null ? 0 : courseCode.hashCode();
+        return shards[(h & Integer.MAX_VALUE) % shards.length];
+    }
+
+    // Seconds until the current backlog should have drained, at least 1
+    public int retryAfterSeconds() {
+        double seconds = (double) depth.get() * nanosPerCommand / shards.length / 1e9;
+        return (int) Math.max(1, Math.ceil(seconds));
+    }
+
+    public int depth() {
+        return depth.get();
+    }
+
+    public int capacity() {
+        return capacity;
+    }
+
+    public long admitted() {
+        return admitted.sum();
+    }
+
+    public long rejected() {
+        return rejected.sum();
+    }
+
+    // Time from submit until a writer picked the command up
+    public double averageWaitMillis() {
+        long n = completed.sum();
+        return n == 0 ? 0 : totalWaitNanos.sum() / 1e6 / n;
+    }
+
+    public double maxWaitMillis() {
+        return maxWaitNanos.get() / 1e6;
+    }
+
+    // Stops admitting, then waits for every queued command to be applied
+    @Override
+    public void close() {
+        closed = true;
+        for (Shard s : shards) s.wake();
+        for (Shard s : shards) {
+            try {
+                s.writer.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private final class Shard implements Runnable {
+        private final ReentrantLock lock = new ReentrantLock();
+        private final Condition notEmpty = lock.newCondition();
+        // Students with queued commands take turns, one command per turn
+        private final Map<String, ArrayDeque<Pending>> byStudent = new HashMap<>();
+        private final ArrayDeque<String> turns = new ArrayDeque<>();
+        private int size;
+        final Thread writer;
+
+        Shard(int index) {
+            writer = new Thread(this, "admission-shard-" + index);
+            writer.setDaemon(true);
+            writer.start();
+        }
+
+        // False once closed: checked under the lock, so the writer either drains p or never sees it
+        boolean offer(Pending p) {
+            String student = p.command.studentId == null ? "" : p.command.studentId;
+            lock.lock();
+            try {
+                if (closed) return false;
+                ArrayDeque<Pending> q = byStudent.get(student);
+                if (q == null) {
+                    q = new ArrayDeque<>();
+                    byStudent.put(student, q);
+                    turns.add(student);
+                }
+                q.add(p);
+                if (size++ == 0) notEmpty.signal();
+                return true;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        void wake() {
+            lock.lock();
+            try {
+                notEmpty.signal();
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        // Empty only once the queue is closed and drained
+        private List<Pending> take() throws InterruptedException {
+            lock.lock();
+            try {
+                while (size == 0) {
+                    if (closed) return List.of();
+                    notEmpty.await();
+                }
+                List<Pending> batch = new ArrayList<>(Math.min(size, MAX_BATCH));
+                while (batch.size() < MAX_BATCH && !turns.isEmpty()) {
+                    String student = turns.poll();
+                    ArrayDeque<Pending> q = byStudent.get(student);
+                    batch.add(q.poll());
+                    if (q.isEmpty()) byStudent.remove(student);
+                    else turns.add(student);
+                }
+                size -= batch.size();
+                return batch;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        @Override
+        public void run() {
+            while (true) {
+                List<Pending> batch;
+                try {
+                    batch = take();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                if (batch.isEmpty()) return;
+                apply(batch);
+            }
+        }
+
+        private void apply(List<Pending> batch) {
+            long start = System.nanoTime();
+            List<EnrollmentCommand> commands = new ArrayList<>(batch.size());
+            for (Pending p : batch) {
+                long waited = start - p.enqueuedAt;
+                totalWaitNanos.add(waited);
+                maxWaitNanos.accumulateAndGet(waited, Math::max);
+                commands.add(p.command);
+            }
+            depth.addAndGet(-batch.size());
+            completed.add(batch.size());
+            try {
+                List<EnrollmentResult> results = registrationService.applyBatch(commands);
+                for (int i = 0; i < batch.size(); i++) batch.get(i).result.complete(results.get(i));
+            } catch (RuntimeException e) {
+                for (Pending p : batch) p.result.completeExceptionally(e);
+            }
+            long perCommand = (System.nanoTime() - start) / batch.size();
+            long previous = nanosPerCommand;
+            nanosPerCommand = previous == 0 ? perCommand : (previous * 7 + perCommand) / 8;
+        }
+    }
+}
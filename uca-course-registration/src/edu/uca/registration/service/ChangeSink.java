@@ -0,0 +1,26 @@
+package edu.uca.registration.service;
+
+import edu.uca.registration.repo.EnrollmentRepository;
+import edu.uca.registration.repo.EnrollmentRepository.Mutation;
+
+// Receives the roster change an enroll or drop made: normally the repository journal,
+// or a RegistrationEngine slot that hands it to the journal and standby consumers.
+interface ChangeSink {
+    void recordChange(Mutation mutation, String courseCode, String studentId);
+
+    void recordPromotion(String courseCode, String droppedId, String promotedId);
+
+    static ChangeSink of(EnrollmentRepository repository) {
+        return new ChangeSink() {
+            @Override
+            public void recordChange(Mutation mutation, String courseCode, String studentId) {
+                repository.recordChange(mutation, courseCode, studentId);
+            }
+
+            @Override
+            public void recordPromotion(String courseCode, String droppedId, String promotedId) {
+                repository.recordPromotion(courseCode, droppedId, promotedId);
+            }
+        };
+    }
+}
@@ -0,0 +1,27 @@
+package edu.uca.registration.service;
+
+public class EnrollmentCommand {
+    public enum Type { ENROLL, DROP }
+
+    public final Type type;
+    public final String studentId;
+    public final String courseCode;
+
+    public EnrollmentCommand(Type type, String studentId, String courseCode) {
+        this.type = type;
+        this.studentId = studentId;
+        this.courseCode = courseCode;
+    }
+
+    public static EnrollmentCommand enroll(String studentId, String courseCode) {
+        return new EnrollmentCommand(Type.ENROLL, studentId, courseCode);
+    }
+
+    public static EnrollmentCommand drop(String studentId, String courseCode) {
+        return new EnrollmentCommand(Type.DROP, studentId, courseCode);
+    }
+
+    public String toString() {
+        return type + " " + studentId + " " + courseCode;
+    }
+}
@@ -0,0 +1,21 @@
+package edu.uca.registration.service;
+
+import java.util.concurrent.CompletableFuture;
+
+// Asynchronous entry point for enroll/drop commands; the future completes with the
+// result enrollStudent/dropStudent would have returned.
+public interface EnrollmentGateway extends AutoCloseable {
+    CompletableFuture<EnrollmentResult> submit(EnrollmentCommand command);
+
+    // Stops taking commands and finishes the ones already accepted
+    @Override
+    void close();
+
+    default CompletableFuture<EnrollmentResult> enroll(String studentId, String courseCode) {
+        return submit(EnrollmentCommand.enroll(studentId, courseCode));
+    }
+
+    default CompletableFuture<EnrollmentResult> drop(String studentId, String courseCode) {
+        return submit(EnrollmentCommand.drop(studentId, courseCode));
+    }
+}
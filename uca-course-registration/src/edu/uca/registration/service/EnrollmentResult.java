@@ -0,0 +1,130 @@
+package edu.uca.registration.service;
+
+import edu.uca.registration.model.StudentIds;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Outcome of an enroll or drop. Outcomes without a payload are shared constants, the
+ * seat-count and waitlist-position outcomes come from preallocated tables, and promotion
+ * and conflict outcomes are cached per student and course, so the hot path allocates
+ * nothing. toString() gives the result text the service used to return.
+ */
+public final class EnrollmentResult {
+    public enum Status {
+        ENROLLED, WAITLISTED, DROPPED, PROMOTED, WAITLIST_REMOVED,
+        NOT_ENROLLED, ALREADY_ENROLLED, ALREADY_WAITLISTED, NO_SUCH_COURSE,
+        SCHEDULE_CONFLICT, MISSING_PREREQUISITE, INVALID_STUDENT_ID, INVALID_COURSE_CODE;
+
+        public boolean isSuccess() {
+            return ordinal() <= WAITLIST_REMOVED.ordinal();
+        }
+    }
+
+    private static final int TABLE_SIZE = 1024;
+    private static final EnrollmentResult[] ENROLLED = table(Status.ENROLLED);
+    private static final EnrollmentResult[] DROPPED = table(Status.DROPPED);
+    private static final EnrollmentResult[] WAITLISTED = new EnrollmentResult[TABLE_SIZE];
+    private static final Map<String, EnrollmentResult> CONFLICTS = new ConcurrentHashMap<>();
+    private static volatile EnrollmentResult[] promotions = new EnrollmentResult[256];
+
+    static {
+        for (int p = 1; p < TABLE_SIZE; p++) WAITLISTED[p] = new EnrollmentResult(Status.WAITLISTED, -1, p, null, null, List.of());
+    }
+
+    public static final EnrollmentResult WAITLIST_REMOVED = of(Status.WAITLIST_REMOVED);
+    public static final EnrollmentResult NOT_ENROLLED = of(Status.NOT_ENROLLED);
+    public static final EnrollmentResult ALREADY_ENROLLED = of(Status.ALREADY_ENROLLED);
+    public static final EnrollmentResult ALREADY_WAITLISTED = of(Status.ALREADY_WAITLISTED);
+    public static final EnrollmentResult NO_SUCH_COURSE = of(Status.NO_SUCH_COURSE);
+    public static final EnrollmentResult INVALID_STUDENT_ID = of(Status.INVALID_STUDENT_ID);
+    public static final EnrollmentResult INVALID_COURSE_CODE = of(Status.INVALID_COURSE_CODE);
+
+    public final Status status;
+    public final int remainingSeats; // open seats after the change, -1 when not applicable
+    public final int waitlistPosition; // 1-based for WAITLISTED, otherwise 0
+    public final String promotedStudentId; // PROMOTED only
+    public final String conflictWith; // SCHEDULE_CONFLICT only
+    public final List<String> missingPrerequisites; // MISSING_PREREQUISITE only
+
+    private EnrollmentResult(Status status, int remainingSeats, int waitlistPosition, String promotedStudentId,
+                             String conflictWith, List<String> missingPrerequisites) {
+        this.status = status;
+        this.remainingSeats = remainingSeats;
+        this.waitlistPosition = waitlistPosition;
+        this.promotedStudentId = promotedStudentId;
+        this.conflictWith = conflictWith;
+        this.missingPrerequisites = missingPrerequisites;
+    }
+
+    private static EnrollmentResult of(Status status) {
+        return new EnrollmentResult(status, -1, 0, null, null, List.of());
+    }
+
+    private static EnrollmentResult[] table(Status status) {
+        EnrollmentResult[] t = new EnrollmentResult[TABLE_SIZE];
+        for (int i = 0; i < TABLE_SIZE; i++) t[i] = new EnrollmentResult(status, i, 0, null, null, List.of());
+        return t;
+    }
+
+    static EnrollmentResult enrolled(int remainingSeats) {
+        return remainingSeats < TABLE_SIZE ? ENROLLED[remainingSeats]
+                : new EnrollmentResult(Status.ENROLLED, remainingSeats, 0, null, null, List.of());
+    }
+
+    static EnrollmentResult dropped(int remainingSeats) {
+        return remainingSeats < TABLE_SIZE ? DROPPED[remainingSeats]
+                : new EnrollmentResult(Status.DROPPED, remainingSeats, 0, null, null, List.of());
+    }
+
+    static EnrollmentResult waitlisted(int position) {
+        return position < TABLE_SIZE ? WAITLISTED[position]
+                : new EnrollmentResult(Status.WAITLISTED, -1, position, null, null, List.of());
+    }
+
+    // The course stays full after a promotion, so the outcome depends only on who moved up
+    static EnrollmentResult promoted(int studentOrdinal) {
+        EnrollmentResult[] cache = promotions;
+        if (studentOrdinal < cache.length && cache[studentOrdinal] != null) return cache[studentOrdinal];
+        EnrollmentResult r = new EnrollmentResult(Status.PROMOTED, 0, 0, StudentIds.idOf(studentOrdinal), null, List.of());
+        synchronized (EnrollmentResult.class) {
+            cache = promotions;
+            if (studentOrdinal >= cache.length) {
+                cache = Arrays.copyOf(cache, Math.max(cache.length * 2, studentOrdinal + 1));
+            }
+            cache[studentOrdinal] = r;
+            promotions = cache;
+        }
+        return r;
+    }
+
+    static EnrollmentResult scheduleConflict(String courseCode) {
+        return CONFLICTS.computeIfAbsent(courseCode,
+                code -> new EnrollmentResult(Status.SCHEDULE_CONFLICT, -1, 0, null, code, List.of()));
+    }
+
+    static EnrollmentResult missingPrerequisites(List<String> missing) {
+        return new EnrollmentResult(Status.MISSING_PREREQUISITE, -1, 0, null, null, List.copyOf(missing));
+    }
+
+    public boolean isSuccess() {
+        return status.isSuccess();
+    }
+
+    public String toString() {
+        switch (status) {
+            case WAITLISTED: return "WAITLIST";
+            case PROMOTED: return "PROMOTED:" + promotedStudentId;
+            case ALREADY_ENROLLED: return "Already enrolled";
+            case ALREADY_WAITLISTED: return "Already waitlisted";
+            case NO_SUCH_COURSE: return "No such course";
+            case SCHEDULE_CONFLICT: return "Schedule conflict with " + conflictWith;
+            case MISSING_PREREQUISITE: return "Missing prerequisite " + String.join(", ", missingPrerequisites);
+            case INVALID_STUDENT_ID: return "Student ID cannot be empty";
+            case INVALID_COURSE_CODE: return "Course code cannot be empty";
+            default: return status.name();
+        }
+    }
+}
@@ -0,0 +1,129 @@
+package edu.uca.registration.service;
+
+import edu.uca.registration.model.Course;
+import edu.uca.registration.model.Student;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Course prerequisites compiled into a DAG over dense indices. A depth-first pass drops
+// edges that would close a cycle and, in post-order, memoizes every course's transitive
+// prerequisites as a BitSet. Each student's completed courses are expanded the same way
+// (passing a course implies its prerequisites) and cached, so a check is one BitSet test.
+final class PrerequisiteGraph {
+    private final Map<String, Integer> indexOf = new HashMap<>();
+    private final List<String> codes = new ArrayList<>();
+    private final BitSet[] direct;
+    private final BitSet[] closure;
+    private final Set<String> cyclic = new TreeSet<>();
+    private final Map<String, BitSet> completedByStudent = new ConcurrentHashMap<>();
+
+    private PrerequisiteGraph(Collection<Course> courses) {
+        for (Course c : courses) {
+            index(c.code);
+            for (String p : c.prerequisites) index(p);
+        }
+        direct = new BitSet[codes.size()];
+        closure = new BitSet[codes.size()];
+        for (Course c : courses) {
+            BitSet d = new BitSet();
+            for (String p : c.prerequisites) d.set(indexOf.get(p));
+            direct[indexOf.get(c.code)] = d;
+        }
+        byte[] state = new byte[codes.size()]; // 0 = new, 1 = on the DFS path, 2 = done
+        for (int i = 0; i < codes.size(); i++) {
+            if (state[i] == 0) visit(i, state);
+        }
+    }
+
+    static PrerequisiteGraph compile(Collection<Course> courses) {
+        return new PrerequisiteGraph(courses);
+    }
+
+    private void index(String code) {
+        if (!indexOf.containsKey(code)) {
+            indexOf.put(code, codes.size());
+            codes.add(code);
+        }
+    }
+
+    private void visit(int course, byte[] state) {
+        state[course] = 1;
+        BitSet all = new BitSet();
+        BitSet d = direct[course];
+        if (d != null) {
+            for (int p = d.nextSetBit(0); p >= 0; p = d.nextSetBit(p + 1)) {
+                if (state[p] == 1) {
+                    // Back edge: requiring p here would make the course unreachable
+                    cyclic.add(codes.get(course));
+                    d.clear(p);
+                    continue;
+                }
+                if (state[p] == 0) visit(p, state);
+                all.or(closure[p]);
+                all.set(p);
+            }
+        }
+        closure[course] = all;
+        state[course] = 2;
+    }
+
+    // Courses whose prerequisite lists formed a cycle; the closing edge was ignored
+    Set<String> cyclicCourses() {
+        return Collections.unmodifiableSet(cyclic);
+    }
+
+    boolean mentions(String courseCode) {
+        return indexOf.containsKey(courseCode);
+    }
+
+    // Whether taking courseCode requires prerequisiteCode, directly or transitively
+    boolean requires(String courseCode, String prerequisiteCode) {
+        Integer i = indexOf.get(courseCode);
+        Integer p = indexOf.get(prerequisiteCode);
+        return i != null && p != null && closure[i].get(p);
+    }
+
+    boolean hasPrerequisites(String courseCode) {
+        Integer i = indexOf.get(courseCode);
+        return i != null && direct[i] != null && !direct[i].isEmpty();
+    }
+
+    // Direct prerequisites the student still lacks, in course order; empty when eligible
+    List<String> missing(String courseCode, Student student) {
+        Integer i = indexOf.get(courseCode);
+        if (i == null || direct[i] == null || direct[i].isEmpty()) return List.of();
+        BitSet need = (BitSet) direct[i].clone();
+        if (student != null) need.andNot(completed(student));
+        List<String> missing = new ArrayList<>(need.cardinality());
+        for (int p = need.nextSetBit(0); p >= 0; p = need.nextSetBit(p + 1)) missing.add(codes.get(p));
+        return missing;
+    }
+
+    boolean isEligible(String courseCode, Student student) {
+        Integer i = indexOf.get(courseCode);
+        if (i == null || direct[i] == null || direct[i].isEmpty()) return true;
+        BitSet completed = completed(student);
+        BitSet d = direct[i];
+        for (int p = d.nextSetBit(0); p >= 0; p = d.nextSetBit(p + 1)) {
+            if (!completed.get(p)) return false;
+        }
+        return true;
+    }
+
+    private BitSet completed(Student student) {
+        return completedByStudent.computeIfAbsent(student.id, id -> {
+            BitSet done = new BitSet();
+            for (String code : student.completedCourses) {
+                Integer c = indexOf.get(code);
+                if (c == null) continue;
+                done.set(c);
+                done.or(closure[c]);
+            }
+            return done;
+        });
+    }
+
+    void invalidate(String studentId) {
+        completedByStudent.remove(studentId);
+    }
+}
@@ -0,0 +1,306 @@
+package edu.uca.registration.service;
+
+import edu.uca.registration.model.Course;
+import edu.uca.registration.repo.CourseRepository;
+import edu.uca.registration.repo.EnrollmentRepository;
+import edu.uca.registration.repo.EnrollmentRepository.Mutation;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Optional single-writer engine, LMAX style. Producers claim a slot in a preallocated
+ * ring and publish an enroll, drop or add-course command; one business-logic thread
+ * applies commands strictly in sequence, so it is the only thread that changes rosters
+ * and waitlist promotions follow submission order exactly. The roster change each
+ * command made stays in its slot for two consumers that run in parallel behind it:
+ * the journal consumer appends to the enrollment log, flushes once per run of
+ * available slots and then completes the callers' futures, and the standby consumer
+ * replays the same changes into a second pair of repositories. A slot is reused only
+ * once every consumer has passed it.
+ *
+ * While an engine runs, every enroll and drop must go through it.
+ */
+public class RegistrationEngine implements EnrollmentGateway {
+    private enum Kind { ENROLL, DROP, ADD_COURSE, REJECTED }
+
+    private final RegistrationService registrationService;
+    private final CourseRepository standbyCourses;
+    private final EnrollmentRepository standbyEnrollments;
+    private final Slot[] ring;
+    private final int mask;
+    // Highest sequence claimed by a producer, and how far each consumer has got
+    private final AtomicLong claimed = new AtomicLong(-1);
+    private final AtomicLong applied = new AtomicLong(-1);
+    private final AtomicLong journaled = new AtomicLong(-1);
+    private final AtomicLong replicated = new AtomicLong(-1);
+    private final Thread logicThread, journalThread, standbyThread;
+    private volatile boolean closed;
+    private volatile boolean logicDone, consumersDone;
+
+    private static final class Slot implements ChangeSink {
+        volatile long published = -1;
+        Kind kind;
+        String studentId, courseCode, title, meetingTime;
+        int capacity;
+        List<String> prerequisites;
+        CompletableFuture<EnrollmentResult> result;
+        // Outputs, written by the business-logic thread
+        EnrollmentResult outcome;
+        RuntimeException error;
+        Mutation mutation;
+        String changedCourse, changedStudent, promotedId;
+        Course added;
+
+        @Override
+        public void recordChange(Mutation mutation, String courseCode, String studentId) {
+            this.mutation = mutation;
+            this.changedCourse = courseCode;
+            this.changedStudent = studentId;
+        }
+
+        @Override
+        public void recordPromotion(String courseCode, String droppedId, String promotedId) {
+            recordChange(Mutation.PROMOTE, courseCode, droppedId);
+            this.promotedId = promotedId;
+        }
+    }
+
+    public RegistrationEngine(RegistrationService registrationService, int ringSize) {
+        this(registrationService, ringSize, null, null);
+    }
+
+    // Replicates to the standby repositories after seeding them with the current state
+    public RegistrationEngine(RegistrationService registrationService, int ringSize,
+                              CourseRepository standbyCourses, EnrollmentRepository standbyEnrollments) {
+        if (ringSize < 2 || Integer.bitCount(ringSize) != 1) {
+            throw new IllegalArgumentException("Ring size must be a power of two");
+        }
+        this.registrationService = registrationService;
+        this.standbyCourses = standbyCourses;
+        this.standbyEnrollments = standbyEnrollments;
+        this.ring = new Slot[ringSize];
+        this.mask = ringSize - 1;
+        for (int i = 0; i < ringSize; i++) ring[i] = new Slot();
+
+        registrationService.awaitData();
+        if (standbyCourses != null) seedStandby();
+        logicThread = start("engine-logic", this::runLogic);
+        journalThread = start("engine-journal", this::runJournal);
+        standbyThread = standbyCourses == null ? null : start("engine-standby", this::runStandby);
+    }
+
+    private static Thread start(String name, Runnable body) {
+        Thread t = new Thread(body, name);
+        t.setDaemon(true);
+        t.start();
+        return t;
+    }
+
+    private void seedStandby() {
+        for (Course c : registrationService.getAllCourses()) {
+            Course copy = copyOf(c);
+            synchronized (c) {
+                copy.roster.addAll(c.roster);
+                copy.waitlist.addAll(c.waitlist);
+            }
+            standbyCourses.save(copy);
+        }
+        standbyEnrollments.saveEnrollments();
+    }
+
+    private static Course copyOf(Course c) {
+        Course copy = new Course(c.code, c.title, c.capacity);
+        copy.meetingTime = c.meetingTime;
+        copy.prerequisites.addAll(c.prerequisites);
+        return copy;
+    }
+
+    @Override
+    public CompletableFuture<EnrollmentResult> submit(EnrollmentCommand command) {
+        return publish(command.type == EnrollmentCommand.Type.ENROLL ? Kind.ENROLL : Kind.DROP,
+                command.studentId, command.courseCode, null, 0, null, null);
+    }
+
+    // Completes once added, or exceptionally with addCourse's IllegalArgumentException
+    public CompletableFuture<Void> addCourse(String code, String title, int capacity, String meetingTime,
+                                             List<String> prerequisites) {
+        return publish(Kind.ADD_COURSE, null, code, title, capacity, meetingTime, prerequisites).thenAccept(r -> {});
+    }
+
+    private CompletableFuture<EnrollmentResult> publish(Kind kind, String studentId, String courseCode, String title,
+                                                        int capacity, String meetingTime, List<String> prerequisites) {
+        CompletableFuture<EnrollmentResult> result = new CompletableFuture<>();
+        if (closed) {
+            result.completeExceptionally(new RejectedExecutionException("Registration engine closed"));
+            return result;
+        }
+        long seq = claimed.incrementAndGet();
+        // Wait for the slowest consumer to free the slot this sequence wraps onto
+        for (int spins = 0; seq - ring.length > slowestConsumer(); spins++) {
+            if (consumersDone) {
+                result.completeExceptionally(new RejectedExecutionException("Registration engine closed"));
+                return result;
+            }
+            idle(spins);
+        }
+        Slot s = ring[(int) seq & mask];
+        s.kind = kind;
+        s.studentId = studentId;
+        s.courseCode = courseCode;
+        s.title = title;
+        s.capacity = capacity;
+        s.meetingTime = meetingTime;
+        s.prerequisites = prerequisites;
+        s.result = result;
+        // A claim made while closing is still published so the logic thread never waits on a gap
+        if (closed) {
+            s.kind = Kind.REJECTED;
+            result.completeExceptionally(new RejectedExecutionException("Registration engine closed"));
+        }
+        s.published = seq;
+        return result;
+    }
+
+    private long slowestConsumer() {
+        return standbyThread == null ? journaled.get() : Math.min(journaled.get(), replicated.get());
+    }
+
+    private static void idle(int spins) {
+        if (spins < 100) Thread.onSpinWait();
+        else if (spins < 200) Thread.yield();
+        else LockSupport.parkNanos(50_000);
+    }
+
+    private void runLogic() {
+        long next = 0;
+        while (true) {
+            Slot s = ring[(int) next & mask];
+            for (int spins = 0; s.published != next; spins++) {
+                if (closed && claimed.get() < next) {
+                    logicDone = true;
+                    return;
+                }
+                idle(spins);
+            }
+            apply(s);
+            applied.set(next++);
+        }
+    }
+
+    private void apply(Slot s) {
+        s.outcome = null;
+        s.error = null;
+        s.mutation = null;
+        s.promotedId = null;
+        s.added = null;
+        try {
+            switch (s.kind) {
+                case ENROLL:
+                    s.outcome = registrationService.enroll(s.studentId, s.courseCode, s);
+                    break;
+                case DROP:
+                    s.outcome = registrationService.drop(s.studentId, s.courseCode, s);
+                    break;
+                case ADD_COURSE:
+                    registrationService.addCourse(s.courseCode, s.title, s.capacity, s.meetingTime,
+                            s.prerequisites == null ? List.of() : s.prerequisites);
+                    s.added = copyOf(registrationService.course(s.courseCode));
+                    break;
+                default:
+                    s.error = new RejectedExecutionException("Registration engine closed");
+            }
+        } catch (RuntimeException e) {
+            s.error = e;
+        }
+    }
+
+    private void runJournal() {
+        ChangeSink journal = registrationService.journal;
+        long next = 0;
+        while (true) {
+            long available = applied.get();
+            for (int spins = 0; available < next; spins++) {
+                if (logicDone && applied.get() < next) {
+                    consumersDone = true;
+                    return;
+                }
+                idle(spins);
+                available = applied.get();
+            }
+            // A sink that throws fails only that slot's caller; the consumer keeps going
+            for (long seq = next; seq <= available; seq++) {
+                Slot s = ring[(int) seq & mask];
+                try {
+                    record(s, journal);
+                } catch (RuntimeException e) {
+                    if (s.error == null) s.error = e;
+                }
+            }
+            RuntimeException failed = null;
+            try {
+                registrationService.flushJournal();
+            } catch (RuntimeException e) {
+                failed = e;
+            }
+            for (long seq = next; seq <= available; seq++) {
+                Slot s = ring[(int) seq & mask];
+                if (s.error != null) s.result.completeExceptionally(s.error);
+                else if (failed != null) s.result.completeExceptionally(failed);
+                else s.result.complete(s.outcome);
+                s.result = null;
+            }
+            journaled.set(available);
+            next = available + 1;
+        }
+    }
+
+    private void runStandby() {
+        ChangeSink standby = ChangeSink.of(standbyEnrollments);
+        long next = 0;
+        while (true) {
+            long available = applied.get();
+            for (int spins = 0; available < next; spins++) {
+                if (logicDone && applied.get() < next) {
+                    consumersDone = true;
+                    return;
+                }
+                idle(spins);
+                available = applied.get();
+            }
+            // A lagging or failed standby never holds up the primary's callers
+            try {
+                for (long seq = next; seq <= available; seq++) {
+                    Slot s = ring[(int) seq & mask];
+                    if (s.added != null) standbyCourses.save(s.added);
+                    record(s, standby);
+                }
+                standbyEnrollments.flush();
+            } catch (RuntimeException e) {
+                System.out.println("Failed replicate to standby: " + e.getMessage());
+            }
+            replicated.set(available);
+            next = available + 1;
+        }
+    }
+
+    private static void record(Slot s, ChangeSink sink) {
+        if (s.mutation == Mutation.PROMOTE) sink.recordPromotion(s.changedCourse, s.changedStudent, s.promotedId);
+        else if (s.mutation != null) sink.recordChange(s.mutation, s.changedCourse, s.changedStudent);
+    }
+
+    // Commands submitted so far are applied, journaled and replicated before this returns
+    @Override
+    public void close() {
+        closed = true;
+        try {
+            logicThread.join();
+            journalThread.join();
+            if (standbyThread != null) standbyThread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -1,16 +1,43 @@
 package edu.uca.registration.service;
 
+import edu.uca.registration.metrics.Counter;
+import edu.uca.registration.metrics.EnrollmentEvent;
+import edu.uca.registration.metrics.LatencyHistogram;
+import edu.uca.registration.metrics.Metrics;
+import edu.uca.registration.metrics.PersistenceEvent;
 import edu.uca.registration.model.Course;
+import edu.uca.registration.model.MeetingTime;
+import edu.uca.registration.model.RosterBitmap;
+import edu.uca.registration.model.ScheduleEntry;
 import edu.uca.registration.model.Student;
+import edu.uca.registration.model.StudentIds;
 import edu.uca.registration.repo.CourseRepository;
 import edu.uca.registration.repo.EnrollmentRepository;
+import edu.uca.registration.repo.EnrollmentRepository.Mutation;
 import edu.uca.registration.repo.StudentRepository;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
 
 public class RegistrationService {
+    private static final Counter[] ENROLL_OUTCOMES = outcomeCounters("enroll");
+    private static final Counter[] DROP_OUTCOMES = outcomeCounters("drop");
+    private static final LatencyHistogram ENROLL_LATENCY = latency("enroll");
+    private static final LatencyHistogram DROP_LATENCY = latency("drop");
+    private static final LatencyHistogram LOAD_LATENCY = latency("load");
+    private static final LatencyHistogram SAVE_LATENCY = latency("save");
+
     private final StudentRepository studentRepository;
     private final CourseRepository courseRepository;
     private final EnrollmentRepository enrollmentRepository;
+    final ChangeSink journal;
+    private final StudentScheduleIndex scheduleIndex = new StudentScheduleIndex();
+    private final StudentTimetable timetable = new StudentTimetable();
+    // Recompiled whenever the course catalog changes
+    private volatile PrerequisiteGraph prerequisites = PrerequisiteGraph.compile(List.of());
+    // Completes once enrollments are loaded; see loadAllDataInBackground()
+    private volatile CompletableFuture<Void> dataReady = CompletableFuture.completedFuture(null);
 
     public RegistrationService(StudentRepository studentRepository,
                                CourseRepository courseRepository,
@@ -18,6 +45,22 @@ public class RegistrationService {
         this.studentRepository = studentRepository;
         this.courseRepository = courseRepository;
         this.enrollmentRepository = enrollmentRepository;
+        this.journal = ChangeSink.of(enrollmentRepository);
+    }
+
+    private static Counter[] outcomeCounters(String operation) {
+        EnrollmentResult.Status[] statuses = EnrollmentResult.Status.values();
+        Counter[] counters = new Counter[statuses.length];
+        for (var status : statuses) {
+            counters[status.ordinal()] = Metrics.counter("registration_outcomes_total",
+                    "Enroll and drop outcomes", "operation", operation, "outcome", status.name());
+        }
+        return counters;
+    }
+
+    private static LatencyHistogram latency(String operation) {
+        return Metrics.histogram("registration_operation_seconds", "Time spent in registration operations",
+                "operation", operation);
     }
 
     private void validateStudentInput(String bannerId, String name, String email) {
@@ -55,66 +98,226 @@ public class RegistrationService {
 
         Student s = new Student(bannerId, name, email);
         studentRepository.save(s);
+        prerequisites.invalidate(bannerId);
+    }
+
+    // Marks a course as passed, which counts toward prerequisites from then on
+    public void recordCompletion(String studentId, String courseCode) {
+        Student s = studentRepository.findById(studentId);
+        if (s == null) throw new IllegalArgumentException("No such student");
+        if (courseCode == null || courseCode.trim().isEmpty()) {
+            throw new IllegalArgumentException("Course code cannot be empty");
+        }
+        s.completedCourses.add(courseCode);
+        studentRepository.save(s);
+        prerequisites.invalidate(studentId);
     }
 
     public void addCourse(String code, String title, int capacity) {
+        addCourse(code, title, capacity, null, List.of());
+    }
+
+    public void addCourse(String code, String title, int capacity, String meetingTime) {
+        addCourse(code, title, capacity, meetingTime, List.of());
+    }
+
+    // meetingTime like "MWF 09:00-09:50"; null or blank means TBA
+    public void addCourse(String code, String title, int capacity, String meetingTime, List<String> prerequisiteCodes) {
         validateCourseInput(code, title, capacity);
 
         Course c = new Course(code, title, capacity);
-        courseRepository.save(c);
+        if (meetingTime != null && !meetingTime.trim().isEmpty()) {
+            c.meetingTime = MeetingTime.parse(meetingTime);
+        }
+        for (String p : prerequisiteCodes) {
+            if (!p.trim().isEmpty() && !c.prerequisites.contains(p.trim())) c.prerequisites.add(p.trim());
+        }
+        synchronized (this) {
+            // A course nothing refers to cannot change anyone's requirements
+            if (c.prerequisites.isEmpty() && !prerequisites.mentions(code)) {
+                courseRepository.save(c);
+                return;
+            }
+            // Only the new edges can close a cycle: one does if its prerequisite already requires this course
+            for (String p : c.prerequisites) {
+                if (p.equals(code) || prerequisites.requires(p, code)) {
+                    throw new IllegalArgumentException("Prerequisites would create a cycle");
+                }
+            }
+            List<Course> catalog = new ArrayList<>(courseRepository.findAll());
+            catalog.removeIf(other -> other.code.equals(code));
+            catalog.add(c);
+            PrerequisiteGraph graph = PrerequisiteGraph.compile(catalog);
+            courseRepository.save(c);
+            prerequisites = graph;
+        }
+    }
+
+    public EnrollmentResult enrollStudent(String studentId, String courseCode) {
+        awaitData();
+        EnrollmentResult result = enroll(studentId, courseCode, journal);
+        enrollmentRepository.flush();
+        return result;
+    }
+
+    public EnrollmentResult dropStudent(String studentId, String courseCode) {
+        awaitData();
+        EnrollmentResult result = drop(studentId, courseCode, journal);
+        enrollmentRepository.flush();
+        return result;
+    }
+
+    // Applies commands in order and makes them durable once per chunk of chunkSize items.
+    public List<EnrollmentResult> applyBatch(List<EnrollmentCommand> commands, int chunkSize) {
+        if (chunkSize < 1) {
+            throw new IllegalArgumentException("Chunk size must be at least 1");
+        }
+        awaitData();
+        List<EnrollmentResult> results = new ArrayList<>(commands.size());
+        int pending = 0;
+        for (EnrollmentCommand cmd : commands) {
+            results.add(cmd.type == EnrollmentCommand.Type.ENROLL
+                    ? enroll(cmd.studentId, cmd.courseCode, journal)
+                    : drop(cmd.studentId, cmd.courseCode, journal));
+            if (++pending == chunkSize) {
+                enrollmentRepository.flush();
+                pending = 0;
+            }
+        }
+        if (pending > 0) enrollmentRepository.flush();
+        return results;
+    }
+
+    public List<EnrollmentResult> applyBatch(List<EnrollmentCommand> commands) {
+        return applyBatch(commands, Math.max(1, commands.size()));
+    }
+
+    // Every enroll and drop passes through here whichever gateway submitted it, so this
+    // is where outcomes and latencies are counted and traced. The journal flush is not included.
+    EnrollmentResult enroll(String studentId, String courseCode, ChangeSink changes) {
+        EnrollmentEvent event = new EnrollmentEvent();
+        event.begin();
+        long start = System.nanoTime();
+        EnrollmentResult result = applyEnroll(studentId, courseCode, changes);
+        ENROLL_LATENCY.recordSince(start);
+        ENROLL_OUTCOMES[result.status.ordinal()].increment();
+        trace(event, "enroll", courseCode, result);
+        return result;
+    }
+
+    EnrollmentResult drop(String studentId, String courseCode, ChangeSink changes) {
+        EnrollmentEvent event = new EnrollmentEvent();
+        event.begin();
+        long start = System.nanoTime();
+        EnrollmentResult result = applyDrop(studentId, courseCode, changes);
+        DROP_LATENCY.recordSince(start);
+        DROP_OUTCOMES[result.status.ordinal()].increment();
+        trace(event, "drop", courseCode, result);
+        return result;
+    }
+
+    // Without a recording that enables the event this is a flag check
+    private void trace(EnrollmentEvent event, String operation, String courseCode, EnrollmentResult result) {
+        event.end();
+        if (!event.shouldCommit()) return;
+        event.operation = operation;
+        event.courseCode = courseCode;
+        event.outcome = result.status.name();
+        Course c = courseCode == null ? null : courseRepository.findByCode(courseCode);
+        if (c != null) {
+            synchronized (c) {
+                event.rosterSize = c.roster.size();
+                event.waitlistSize = c.waitlist.size();
+            }
+        }
+        event.commit();
     }
 
-    public String enrollStudent(String studentId, String courseCode) {
+    // Journal records are written under the course lock so log order matches state
+    // order; callers flush after the lock is released so fsyncs can be shared. Each
+    // record is written before the change it describes, so a journal that throws
+    // (UncheckedIOException) fails the command with the course left untouched.
+    private EnrollmentResult applyEnroll(String studentId, String courseCode, ChangeSink changes) {
         if (studentId == null || studentId.trim().isEmpty()) {
-            return "Student ID cannot be empty";
+            return EnrollmentResult.INVALID_STUDENT_ID;
         }
         if (courseCode == null || courseCode.trim().isEmpty()) {
-            return "Course code cannot be empty";
+            return EnrollmentResult.INVALID_COURSE_CODE;
         }
 
         Course c = courseRepository.findByCode(courseCode);
-        if (c == null) return "No such course";
-        if (c.roster.contains(studentId)) return "Already enrolled";
-        if (c.waitlist.contains(studentId)) return "Already waitlisted";
+        if (c == null) return EnrollmentResult.NO_SUCH_COURSE;
+        // Courses without prerequisites skip the student lookup entirely
+        PrerequisiteGraph graph = prerequisites;
+        if (graph.hasPrerequisites(c.code)) {
+            List<String> missing = graph.missing(c.code, studentRepository.findById(studentId));
+            if (!missing.isEmpty()) return EnrollmentResult.missingPrerequisites(missing);
+        }
+        // Checks use the non-inserting lookup; the ID is interned only once it is being seated,
+        // so rejected or malformed IDs never grow the process-wide dictionary
+        int known = StudentIds.lookup(studentId);
+        // The course monitor makes check-then-act and the journal append atomic per course
+        synchronized (c) {
+            if (c.roster.containsId(known)) return EnrollmentResult.ALREADY_ENROLLED;
+            if (c.waitlist.containsId(known)) return EnrollmentResult.ALREADY_WAITLISTED;
+            String clash = timetable.reserve(studentId, c);
+            if (clash != null) return EnrollmentResult.scheduleConflict(clash);
 
-        if (c.roster.size() >= c.capacity) {
-            c.waitlist.add(studentId);
-            courseRepository.save(c);
-            return "WAITLIST";
-        } else {
-            c.roster.add(studentId);
-            courseRepository.save(c);
-            return "ENROLLED";
+            boolean full = c.roster.size() >= c.capacity;
+            try {
+                changes.recordChange(full ? Mutation.WAITLIST : Mutation.ENROLL, c.code, studentId);
+            } catch (RuntimeException e) {
+                timetable.release(studentId, c.code);
+                throw e;
+            }
+            scheduleIndex.add(studentId, c.code);
+            int sid = StudentIds.intern(studentId);
+            if (full) {
+                c.waitlist.addId(sid);
+                return EnrollmentResult.waitlisted(c.waitlist.size());
+            } else {
+                c.roster.addId(sid);
+                return EnrollmentResult.enrolled(c.capacity - c.roster.size());
+            }
         }
     }
 
-    public String dropStudent(String studentId, String courseCode) {
+    private EnrollmentResult applyDrop(String studentId, String courseCode, ChangeSink changes) {
         if (studentId == null || studentId.trim().isEmpty()) {
-            return "Student ID cannot be empty";
+            return EnrollmentResult.INVALID_STUDENT_ID;
         }
         if (courseCode == null || courseCode.trim().isEmpty()) {
-            return "Course code cannot be empty";
+            return EnrollmentResult.INVALID_COURSE_CODE;
         }
 
         Course c = courseRepository.findByCode(courseCode);
-        if (c == null) return "No such course";
+        if (c == null) return EnrollmentResult.NO_SUCH_COURSE;
+        int sid = StudentIds.lookup(studentId);
 
-        if (c.roster.remove(studentId)) {
-            // Promote first waitlisted (FIFO)
-            if (!c.waitlist.isEmpty()) {
-                String promote = c.waitlist.removeFirst();
-                c.roster.add(promote);
-                courseRepository.save(c);
-                return "PROMOTED:" + promote;
+        synchronized (c) {
+            if (c.roster.containsId(sid)) {
+                // Promote first waitlisted (FIFO)
+                int promoted = c.waitlist.isEmpty() ? -1 : c.waitlist.getFirstId();
+                if (promoted >= 0) changes.recordPromotion(c.code, studentId, StudentIds.idOf(promoted));
+                else changes.recordChange(Mutation.DROP, c.code, studentId);
+                c.roster.removeId(sid);
+                scheduleIndex.remove(studentId, c.code);
+                timetable.release(studentId, c.code);
+                if (promoted >= 0) {
+                    c.waitlist.removeFirstId();
+                    c.roster.addId(promoted);
+                    return EnrollmentResult.promoted(promoted);
+                }
+                return EnrollmentResult.dropped(Math.max(0, c.capacity - c.roster.size()));
+            } else if (c.waitlist.containsId(sid)) {
+                changes.recordChange(Mutation.DROP, c.code, studentId);
+                c.waitlist.removeId(sid);
+                scheduleIndex.remove(studentId, c.code);
+                timetable.release(studentId, c.code);
+                return EnrollmentResult.WAITLIST_REMOVED;
             } else {
-                courseRepository.save(c);
-                return "DROPPED";
+                return EnrollmentResult.NOT_ENROLLED;
             }
-        } else if (c.waitlist.remove(studentId)) {
-            courseRepository.save(c);
-            return "WAITLIST_REMOVED";
-        } else {
-            return "NOT_ENROLLED";
         }
     }
 
@@ -123,15 +326,141 @@ public class RegistrationService {
     }
 
     public List<Course> getAllCourses() {
+        awaitData();
         return courseRepository.findAll();
     }
 
+    // Courses the student is enrolled or waitlisted in, by course code
+    public List<ScheduleEntry> getStudentSchedule(String studentId) {
+        awaitData();
+        List<ScheduleEntry> schedule = new ArrayList<>();
+        int sid = StudentIds.lookup(studentId);
+        for (String code : scheduleIndex.coursesOf(studentId)) {
+            Course c = courseRepository.findByCode(code);
+            if (c == null) continue;
+            synchronized (c) {
+                if (c.roster.containsId(sid)) {
+                    schedule.add(new ScheduleEntry(code, false, 0));
+                } else {
+                    int position = c.waitlist.positionOfId(sid);
+                    if (position > 0) schedule.add(new ScheduleEntry(code, true, position));
+                }
+            }
+        }
+        schedule.sort((a, b) -> a.courseCode.compareTo(b.courseCode));
+        return schedule;
+    }
+
+    // Students whose completed courses satisfy the course's prerequisites, in banner-ID order
+    public List<String> eligibleStudents(String courseCode) {
+        awaitData();
+        PrerequisiteGraph graph = prerequisites;
+        return studentRepository.findAll().parallelStream()
+                .filter(s -> graph.isEligible(courseCode, s))
+                .map(s -> s.id)
+                .sorted()
+                .collect(Collectors.toList());
+    }
+
+    // Students enrolled in every one of the given courses, in banner-ID order
+    public List<String> studentsEnrolledInAll(String... courseCodes) {
+        awaitData();
+        RosterBitmap common = null;
+        for (String code : courseCodes) {
+            RosterBitmap roster = rosterBitmap(code);
+            common = common == null ? roster : common.and(roster);
+            if (common.isEmpty()) break;
+        }
+        return common == null ? new ArrayList<>() : toStudentIds(common);
+    }
+
+    // Students enrolled in any course whose code starts with the department prefix, e.g. "CSCI"
+    public List<String> studentsInDepartment(String department) {
+        awaitData();
+        RosterBitmap any = new RosterBitmap();
+        for (Course c : courseRepository.findAll()) {
+            if (c.code.regionMatches(true, 0, department, 0, department.length())) {
+                any = any.or(rosterBitmap(c));
+            }
+        }
+        return toStudentIds(any);
+    }
+
+    // Distinct students across the given courses, e.g. all sections of one class
+    public int headcount(String... courseCodes) {
+        awaitData();
+        RosterBitmap any = new RosterBitmap();
+        for (String code : courseCodes) any = any.or(rosterBitmap(code));
+        return any.cardinality();
+    }
+
+    Course course(String code) {
+        return courseRepository.findByCode(code);
+    }
+
+    private RosterBitmap rosterBitmap(String code) {
+        Course c = courseRepository.findByCode(code);
+        return c == null ? new RosterBitmap() : rosterBitmap(c);
+    }
+
+    private static RosterBitmap rosterBitmap(Course c) {
+        synchronized (c) {
+            return c.roster.toBitmap();
+        }
+    }
+
+    private static List<String> toStudentIds(RosterBitmap students) {
+        List<String> ids = new ArrayList<>(students.cardinality());
+        students.forEach(ordinal -> ids.add(StudentIds.idOf(ordinal)));
+        ids.sort(null);
+        return ids;
+    }
+
     public void loadAllData() {
+        PersistenceEvent event = new PersistenceEvent();
+        event.begin();
+        long start = System.nanoTime();
         enrollmentRepository.loadEnrollments();
+        List<Course> courses = courseRepository.findAll();
+        scheduleIndex.rebuild(courses);
+        timetable.rebuild(courses);
+        prerequisites = PrerequisiteGraph.compile(courses);
+        if (!prerequisites.cyclicCourses().isEmpty()) {
+            System.out.println("Ignored cyclic prerequisites of " + String.join(", ", prerequisites.cyclicCourses()));
+        }
+        LOAD_LATENCY.recordSince(start);
+        event.finish("all", "load", null, courses.size(), 0, true);
+    }
+
+    // Starts loadAllData() on a daemon thread; enrollment operations and course
+    // listings block until it finishes, everything else proceeds immediately.
+    public void loadAllDataInBackground() {
+        dataReady = CompletableFuture.runAsync(this::loadAllData, r -> {
+            Thread t = new Thread(r, "enrollment-loader");
+            t.setDaemon(true);
+            t.start();
+        });
+    }
+
+    void awaitData() {
+        dataReady.join();
+    }
+
+    void flushJournal() {
+        enrollmentRepository.flush();
     }
 
+    // Also writes out course and student saves a write-behind repository is still holding
     public void saveAllData() {
+        awaitData();
+        PersistenceEvent event = new PersistenceEvent();
+        event.begin();
+        long start = System.nanoTime();
+        studentRepository.flush();
+        courseRepository.flush();
         enrollmentRepository.saveEnrollments();
+        SAVE_LATENCY.recordSince(start);
+        event.finish("all", "save", null, 0, 0, true);
     }
 
     public void seedDemoData() {
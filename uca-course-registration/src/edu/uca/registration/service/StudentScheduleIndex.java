@@ -0,0 +1,42 @@
+package edu.uca.registration.service;
+
+import edu.uca.registration.model.Course;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Reverse index: student ID -> codes of the courses they are enrolled or waitlisted in.
+class StudentScheduleIndex {
+    private final ConcurrentHashMap<String, Set<String>> byStudent = new ConcurrentHashMap<>();
+
+    void add(String studentId, String courseCode) {
+        // compute() keeps this atomic with a concurrent remove() dropping the last code
+        byStudent.compute(studentId, (k, codes) -> {
+            if (codes == null) codes = ConcurrentHashMap.newKeySet();
+            codes.add(courseCode);
+            return codes;
+        });
+    }
+
+    void remove(String studentId, String courseCode) {
+        byStudent.computeIfPresent(studentId, (k, codes) -> {
+            codes.remove(courseCode);
+            return codes.isEmpty() ? null : codes;
+        });
+    }
+
+    Set<String> coursesOf(String studentId) {
+        return byStudent.getOrDefault(studentId, Collections.emptySet());
+    }
+
+    void rebuild(Collection<Course> courses) {
+        byStudent.clear();
+        for (Course c : courses) {
+            synchronized (c) {
+                for (String sid : c.roster) add(sid, c.code);
+                for (String sid : c.waitlist) add(sid, c.code);
+            }
+        }
+    }
+}
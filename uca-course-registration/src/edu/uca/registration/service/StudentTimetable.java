@@ -0,0 +1,87 @@
+package edu.uca.registration.service;
+
+import edu.uca.registration.model.Course;
+import edu.uca.registration.model.MeetingTime;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Per-student occupancy of the week as a MeetingTime slot bitmap, so a conflict check is a
+// fixed number of word ANDs however many courses the student holds. Enrolled and waitlisted
+// seats both reserve their time, so a later promotion can never create a clash.
+class StudentTimetable {
+    private static final class Week {
+        final long[] busy = new long[MeetingTime.WEEK_WORDS];
+        final Map<String, MeetingTime> courses = new LinkedHashMap<>();
+
+        void recompute() {
+            Arrays.fill(busy, 0);
+            for (MeetingTime t : courses.values()) {
+                long[] mask = t.slotMask();
+                for (int w = 0; w < busy.length; w++) busy[w] |= mask[w];
+            }
+        }
+    }
+
+    private final ConcurrentHashMap<String, Week> byStudent = new ConcurrentHashMap<>();
+
+    // Reserves the course's time for the student; returns the clashing course code, or null
+    String reserve(String studentId, Course course) {
+        MeetingTime time = course.meetingTime;
+        if (time == null) return null;
+        String[] clash = new String[1];
+        // compute() makes check-and-reserve atomic per student across course locks
+        byStudent.compute(studentId, (k, week) -> {
+            if (week == null) week = new Week();
+            long[] mask = time.slotMask();
+            for (int w = 0; w < mask.length; w++) {
+                if ((week.busy[w] & mask[w]) == 0) continue;
+                // Slots are coarse; confirm against the exact times before rejecting
+                for (var e : week.courses.entrySet()) {
+                    if (!e.getKey().equals(course.code) && e.getValue().overlaps(time)) {
+                        clash[0] = e.getKey();
+                        return week;
+                    }
+                }
+                break;
+            }
+            week.courses.put(course.code, time);
+            for (int w = 0; w < mask.length; w++) week.busy[w] |= mask[w];
+            return week;
+        });
+        return clash[0];
+    }
+
+    void release(String studentId, String courseCode) {
+        byStudent.computeIfPresent(studentId, (k, week) -> {
+            if (week.courses.remove(courseCode) == null) return week;
+            if (week.courses.isEmpty()) return null;
+            week.recompute();
+            return week;
+        });
+    }
+
+    // Loaded data may predate conflict checks, so existing clashes are kept as they are
+    void rebuild(Collection<Course> courses) {
+        byStudent.clear();
+        for (Course c : courses) {
+            synchronized (c) {
+                if (c.meetingTime == null) continue;
+                for (String sid : c.roster) add(sid, c);
+                for (String sid : c.waitlist) add(sid, c);
+            }
+        }
+    }
+
+    private void add(String studentId, Course course) {
+        byStudent.compute(studentId, (k, week) -> {
+            if (week == null) week = new Week();
+            week.courses.put(course.code, course.meetingTime);
+            long[] mask = course.meetingTime.slotMask();
+            for (int w = 0; w < mask.length; w++) week.busy[w] |= mask[w];
+            return week;
+        });
+    }
+}
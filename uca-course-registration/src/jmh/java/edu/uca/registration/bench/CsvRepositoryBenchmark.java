@@ -0,0 +1,94 @@
+package edu.uca.registration.bench;
+
+import edu.uca.registration.model.Course;
+import edu.uca.registration.model.Student;
+import edu.uca.registration.repo.impl.BinaryCourseRepository;
+import edu.uca.registration.repo.impl.BinaryFormatConverter;
+import edu.uca.registration.repo.impl.BinaryStudentRepository;
+import edu.uca.registration.repo.impl.CsvCourseRepository;
+import edu.uca.registration.repo.impl.CsvStudentRepository;
+import edu.uca.registration.repo.impl.KeyValueMigration;
+import edu.uca.registration.repo.impl.KvStudentRepository;
+import edu.uca.registration.repo.impl.MappedCsvStudentRepository;
+import org.openjdk.jmh.annotations.*;
+
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+// Whole-file load and save costs of the CSV repositories and their binary and key-value counterparts.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class CsvRepositoryBenchmark {
+    @Param({"1000", "100000", "1000000"})
+    public int rows;
+
+    private String studentsFile;
+    private String coursesFile;
+    private String binaryStudentsFile;
+    private String binaryCoursesFile;
+    private CsvStudentRepository studentRepo;
+    private CsvCourseRepository courseRepo;
+    private KvStudentRepository kvStudentRepo;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        Path dir = SyntheticData.tempDir();
+        studentsFile = SyntheticData.writeStudents(dir, rows).toString();
+        coursesFile = SyntheticData.writeCourses(dir, rows, 50).toString();
+        BinaryFormatConverter.convert(dir);
+        binaryStudentsFile = dir.resolve("students.bin").toString();
+        binaryCoursesFile = dir.resolve("courses.bin").toString();
+        KeyValueMigration.fromCsv(dir);
+        kvStudentRepo = new KvStudentRepository(dir.resolve("students.kv").toString());
+        studentRepo = new CsvStudentRepository(studentsFile);
+        courseRepo = new CsvCourseRepository(coursesFile);
+    }
+
+    @Benchmark
+    public CsvStudentRepository loadStudents() {
+        return new CsvStudentRepository(studentsFile);
+    }
+
+    @Benchmark
+    public MappedCsvStudentRepository loadMappedStudents() {
+        return new MappedCsvStudentRepository(studentsFile);
+    }
+
+    @Benchmark
+    public CsvCourseRepository loadCourses() {
+        return new CsvCourseRepository(coursesFile);
+    }
+
+    @Benchmark
+    public BinaryStudentRepository loadBinaryStudents() {
+        return new BinaryStudentRepository(binaryStudentsFile);
+    }
+
+    @Benchmark
+    public BinaryCourseRepository loadBinaryCourses() {
+        return new BinaryCourseRepository(binaryCoursesFile);
+    }
+
+    // Overwrites an existing row so the file size stays constant across iterations
+    @Benchmark
+    public void saveStudent() {
+        String id = SyntheticData.studentId(0);
+        studentRepo.save(new Student(id, "Student 0", id.toLowerCase() + "@uca.edu"));
+    }
+
+    // Appends and commits one record instead of rewriting the file
+    @Benchmark
+    public void saveKvStudent() {
+        String id = SyntheticData.studentId(0);
+        kvStudentRepo.save(new Student(id, "Student 0", id.toLowerCase() + "@uca.edu"));
+    }
+
+    @Benchmark
+    public void saveCourse() {
+        courseRepo.save(new Course(SyntheticData.courseCode(0), "Course Title 0", 50));
+    }
+}
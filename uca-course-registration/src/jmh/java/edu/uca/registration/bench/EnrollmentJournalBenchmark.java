@@ -0,0 +1,38 @@
+package edu.uca.registration.bench;
+
+import edu.uca.registration.repo.EnrollmentRepository.Mutation;
+import edu.uca.registration.repo.impl.CsvCourseRepository;
+import edu.uca.registration.repo.impl.CsvEnrollmentRepository;
+import org.openjdk.jmh.annotations.*;
+
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+// Cost of one durable journal append; run with -t N to see group commit amortize fsyncs.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EnrollmentJournalBenchmark {
+    private CsvEnrollmentRepository repo;
+
+    @State(Scope.Thread)
+    public static class Counter {
+        int n;
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        Path dir = SyntheticData.tempDir();
+        var courseRepo = new CsvCourseRepository(dir.resolve("courses.csv").toString());
+        repo = new CsvEnrollmentRepository(courseRepo, dir.resolve("enrollments.csv").toString(), dir.resolve("enrollments.log").toString());
+    }
+
+    @Benchmark
+    public void append(Counter counter) {
+        repo.recordChange(Mutation.ENROLL, "CSCI4490", SyntheticData.studentId(counter.n++));
+        repo.flush();
+    }
+}
@@ -0,0 +1,52 @@
+package edu.uca.registration.bench;
+
+import edu.uca.registration.repo.impl.BinaryCourseRepository;
+import edu.uca.registration.repo.impl.BinaryEnrollmentRepository;
+import edu.uca.registration.repo.impl.BinaryFormatConverter;
+import edu.uca.registration.repo.impl.CsvCourseRepository;
+import edu.uca.registration.repo.impl.CsvEnrollmentRepository;
+import org.openjdk.jmh.annotations.*;
+
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class EnrollmentRepositoryBenchmark {
+    private static final int COURSES = 2000;
+    private static final int CAPACITY = 300;
+
+    @Param({"1000", "100000", "1000000"})
+    public int rows;
+
+    private Path dir;
+    private String coursesFile;
+    private String enrollmentsFile;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        dir = SyntheticData.tempDir();
+        coursesFile = SyntheticData.writeCourses(dir, COURSES, CAPACITY).toString();
+        enrollmentsFile = SyntheticData.writeEnrollments(dir, rows, COURSES, CAPACITY).toString();
+        BinaryFormatConverter.convert(dir);
+    }
+
+    @Benchmark
+    public CsvCourseRepository loadEnrollments() {
+        var courseRepo = new CsvCourseRepository(coursesFile);
+        new CsvEnrollmentRepository(courseRepo, enrollmentsFile, dir.resolve("enrollments.log").toString()).loadEnrollments();
+        return courseRepo;
+    }
+
+    @Benchmark
+    public BinaryCourseRepository loadBinaryEnrollments() {
+        var courseRepo = new BinaryCourseRepository(dir.resolve("courses.bin").toString());
+        new BinaryEnrollmentRepository(courseRepo, dir.resolve("enrollments.bin").toString(),
+                dir.resolve("enrollments.bin.log").toString()).loadEnrollments();
+        return courseRepo;
+    }
+}
@@ -0,0 +1,72 @@
+package edu.uca.registration.bench;
+
+import edu.uca.registration.repo.EnrollmentRepository;
+import edu.uca.registration.repo.impl.CsvCourseRepository;
+import edu.uca.registration.repo.impl.CsvEnrollmentRepository;
+import edu.uca.registration.repo.impl.CsvStudentRepository;
+import edu.uca.registration.service.EnrollmentResult;
+import edu.uca.registration.service.RegistrationService;
+import org.openjdk.jmh.annotations.*;
+
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+// Each benchmark runs an enroll/drop pair so the course returns to the same state every op.
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RegistrationServiceBenchmark {
+    private static final int CAPACITY = 200;
+
+    // "off" isolates service logic; "fsync" includes the durable journal append
+    @Param({"off", "fsync"})
+    public String journal;
+
+    private RegistrationService service;
+    private String outsider;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        Path dir = SyntheticData.tempDir();
+        var courseRepo = new CsvCourseRepository(dir.resolve("courses.csv").toString());
+        EnrollmentRepository enrollmentRepo = "fsync".equals(journal)
+                ? new CsvEnrollmentRepository(courseRepo, dir.resolve("enrollments.csv").toString(), dir.resolve("enrollments.log").toString())
+                : new EnrollmentRepository() {
+                    @Override public void loadEnrollments() {}
+                    @Override public void saveEnrollments() {}
+                };
+        service = new RegistrationService(new CsvStudentRepository(dir.resolve("students.csv").toString()), courseRepo, enrollmentRepo);
+
+        service.addCourse("OPEN", "Open Seats", CAPACITY);
+        service.addCourse("FULL", "Full With Waitlist", CAPACITY);
+        for (int i = 0; i < CAPACITY / 2; i++) service.enrollStudent(SyntheticData.studentId(i), "OPEN");
+        for (int i = 0; i < CAPACITY * 2; i++) service.enrollStudent(SyntheticData.studentId(i), "FULL");
+        outsider = SyntheticData.studentId(1_000_000);
+    }
+
+    @Benchmark
+    public EnrollmentResult enrollAndDrop_Hit() {
+        service.enrollStudent(outsider, "OPEN");
+        return service.dropStudent(outsider, "OPEN");
+    }
+
+    @Benchmark
+    public EnrollmentResult enrollAndDrop_Waitlist() {
+        service.enrollStudent(outsider, "FULL");
+        return service.dropStudent(outsider, "FULL");
+    }
+
+    // Dropping the first enrolled student promotes the waitlist head; re-enrolling
+    // sends them to the back of the waitlist, so the cycle rotates through everyone.
+    @Benchmark
+    public EnrollmentResult dropWithPromotion() {
+        var course = service.getAllCourses().stream().filter(c -> c.code.equals("FULL")).findFirst().orElseThrow();
+        String first = course.roster.iterator().next();
+        EnrollmentResult result = service.dropStudent(first, "FULL");
+        service.enrollStudent(first, "FULL");
+        return result;
+    }
+}
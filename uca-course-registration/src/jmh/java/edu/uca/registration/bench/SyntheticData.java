@@ -0,0 +1,58 @@
+package edu.uca.registration.bench;
+
+import java.io.*;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+// Writes CSV fixtures in the same formats the Csv*Repository classes read.
+public final class SyntheticData {
+    private SyntheticData() {}
+
+    public static Path tempDir() throws IOException {
+        Path dir = Files.createTempDirectory("uca-bench");
+        dir.toFile().deleteOnExit();
+        return dir;
+    }
+
+    public static String studentId(int n) {
+        return "B" + String.format("%08d", n);
+    }
+
+    public static String courseCode(int n) {
+        return "C" + String.format("%07d", n);
+    }
+
+    public static Path writeStudents(Path dir, int rows) throws IOException {
+        Path file = dir.resolve("students.csv");
+        try (PrintWriter pw = new PrintWriter(new BufferedWriter(new FileWriter(file.toFile())))) {
+            for (int i = 0; i < rows; i++) {
+                String id = studentId(i);
+                pw.println(id + ",Student " + i + "," + id.toLowerCase() + "@uca.edu");
+            }
+        }
+        return file;
+    }
+
+    public static Path writeCourses(Path dir, int rows, int capacity) throws IOException {
+        Path file = dir.resolve("courses.csv");
+        try (PrintWriter pw = new PrintWriter(new BufferedWriter(new FileWriter(file.toFile())))) {
+            for (int i = 0; i < rows; i++) {
+                pw.println(courseCode(i) + ",Course Title " + i + "," + capacity);
+            }
+        }
+        return file;
+    }
+
+    // Spreads rows over the given courses; the first capacity rows of each course are enrolled.
+    public static Path writeEnrollments(Path dir, int rows, int courses, int capacity) throws IOException {
+        Path file = dir.resolve("enrollments.csv");
+        try (PrintWriter pw = new PrintWriter(new BufferedWriter(new FileWriter(file.toFile())))) {
+            for (int i = 0; i < rows; i++) {
+                int course = i % courses;
+                int seat = i / courses;
+                pw.println(courseCode(course) + "|" + studentId(i) + "|" + (seat < capacity ? "ENROLLED" : "WAITLIST"));
+            }
+        }
+        return file;
+    }
+}
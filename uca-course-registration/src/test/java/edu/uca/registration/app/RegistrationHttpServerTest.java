@@ -0,0 +1,177 @@
+package test.java.edu.uca.registration.app;
+
+import edu.uca.registration.app.RegistrationHttpServer;
+import edu.uca.registration.service.AdmissionQueue;
+import edu.uca.registration.service.RegistrationService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RegistrationHttpServerTest {
+
+    @TempDir
+    Path tempDir;
+
+    private RegistrationService registrationService;
+    private RegistrationHttpServer server;
+    private final HttpClient client = HttpClient.newHttpClient();
+
+    @BeforeEach
+    void setUp() throws Exception {
+        File studentsFile = new File(tempDir.toFile(), "students.csv");
+        File coursesFile = new File(tempDir.toFile(), "courses.csv");
+        File enrollmentsFile = new File(tempDir.toFile(), "enrollments.csv");
+        var studentRepo = new SystemTest.EmptyCsvStudentRepository(studentsFile.getAbsolutePath());
+        var courseRepo = new SystemTest.EmptyCsvCourseRepository(coursesFile.getAbsolutePath());
+        var enrollmentRepo = new SystemTest.EmptyCsvEnrollmentRepository(courseRepo, enrollmentsFile.getAbsolutePath());
+
+        registrationService = new RegistrationService(studentRepo, courseRepo, enrollmentRepo);
+        server = new RegistrationHttpServer(registrationService, 0);
+        server.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop(0);
+    }
+
+    private HttpResponse<String> send(String method, String path, String json) throws Exception {
+        var request = HttpRequest.newBuilder(URI.create("http://localhost:" + server.port() + path))
+                .method(method, json == null ? HttpRequest.BodyPublishers.noBody() : HttpRequest.BodyPublishers.ofString(json))
+                .build();
+        return client.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+
+    @Test
+    @DisplayName("HT-01: Add, enroll, waitlist and drop over HTTP map to result codes")
+    void enrollAndDrop_OverHttp_ReturnsResultCodes() throws Exception {
+        // Arrange
+        assertEquals(201, send("POST", "/students", "{\"id\":\"B100\",\"name\":\"Ann\",\"email\":\"a@uca.edu\"}").statusCode());
+        assertEquals(201, send("POST", "/students", "{\"id\":\"B101\",\"name\":\"Bo\",\"email\":\"b@uca.edu\"}").statusCode());
+        assertEquals(201, send("POST", "/courses",
+                "{\"code\":\"CSCI4490\",\"title\":\"Software Engineering\",\"capacity\":1,\"meetingTime\":\"MWF 09:00-09:50\"}").statusCode());
+
+        // Act
+        var enrolled = send("POST", "/enroll", "{\"studentId\":\"B100\",\"courseCode\":\"CSCI4490\"}");
+        var waitlisted = send("POST", "/enroll", "{\"studentId\":\"B101\",\"courseCode\":\"CSCI4490\"}");
+        var duplicate = send("POST", "/enroll", "{\"studentId\":\"B100\",\"courseCode\":\"CSCI4490\"}");
+        var promoted = send("POST", "/drop", "{\"studentId\":\"B100\",\"courseCode\":\"CSCI4490\"}");
+        var missing = send("POST", "/enroll", "{\"studentId\":\"B100\",\"courseCode\":\"NOPE\"}");
+        var badBody = send("POST", "/enroll", "{\"studentId\":");
+        var courses = send("GET", "/courses", null);
+
+        // Assert
+        assertEquals(200, enrolled.statusCode());
+        assertTrue(enrolled.body().contains("\"result\":\"ENROLLED\""));
+        assertTrue(waitlisted.body().contains("\"result\":\"WAITLISTED\""));
+        assertEquals(409, duplicate.statusCode());
+        assertTrue(duplicate.body().contains("\"result\":\"ALREADY_ENROLLED\""));
+        assertTrue(promoted.body().contains("\"promoted\":\"B101\""));
+        assertEquals(404, missing.statusCode());
+        assertTrue(missing.body().contains("\"result\":\"NO_SUCH_COURSE\""));
+        assertEquals(400, badBody.statusCode());
+        assertTrue(courses.body().contains("\"code\":\"CSCI4490\""));
+        assertTrue(courses.body().contains("\"meetingTime\":\"MWF 09:00-09:50\""));
+        assertTrue(courses.body().contains("\"enrolled\":1"));
+    }
+
+    @Test
+    @DisplayName("HT-02: Concurrent enroll requests fill capacity exactly")
+    void concurrentEnrollRequests_FillCapacityExactly() throws Exception {
+        // Arrange
+        send("POST", "/courses", "{\"code\":\"MATH1496\",\"title\":\"Calculus I\",\"capacity\":5}");
+        List<CompletableFuture<HttpResponse<String>>> responses = new ArrayList<>();
+
+        // Act
+        for (int i = 0; i < 40; i++) {
+            var request = HttpRequest.newBuilder(URI.create("http://localhost:" + server.port() + "/enroll"))
+                    .POST(HttpRequest.BodyPublishers.ofString("{\"studentId\":\"B" + (1000 + i) + "\",\"courseCode\":\"MATH1496\"}"))
+                    .build();
+            responses.add(client.sendAsync(request, HttpResponse.BodyHandlers.ofString()));
+        }
+        int enrolled = 0, waitlisted = 0;
+        for (var response : responses) {
+            String body = response.join().body();
+            if (body.contains("\"result\":\"ENROLLED\"")) enrolled++;
+            if (body.contains("\"result\":\"WAITLISTED\"")) waitlisted++;
+        }
+
+        // Assert
+        assertEquals(5, enrolled);
+        assertEquals(35, waitlisted);
+    }
+
+    @Test
+    @DisplayName("HT-03: Enrolls go through the admission queue and its stats are exposed")
+    void enroll_ThroughAdmissionQueue_ReportsQueueStats() throws Exception {
+        // Arrange
+        server.stop(0);
+        try (AdmissionQueue queue = new AdmissionQueue(registrationService, 2, 100)) {
+            server = new RegistrationHttpServer(registrationService, queue, 0);
+            server.start();
+            send("POST", "/courses", "{\"code\":\"CSCI4490\",\"title\":\"Software Engineering\",\"capacity\":10}");
+
+            // Act
+            var enrolled = send("POST", "/enroll", "{\"studentId\":\"B100\",\"courseCode\":\"CSCI4490\"}");
+            var stats = send("GET", "/admission", null);
+
+            // Assert
+            assertTrue(enrolled.body().contains("\"result\":\"ENROLLED\""));
+            assertTrue(stats.body().contains("\"depth\":0"));
+            assertTrue(stats.body().contains("\"admitted\":1"));
+        }
+    }
+
+    @Test
+    @DisplayName("HT-04: Non-string values in string fields are rejected, not stringified")
+    void enroll_NonStringFields_Rejected() throws Exception {
+        // Arrange
+        send("POST", "/courses", "{\"code\":\"CSCI4490\",\"title\":\"Software Engineering\",\"capacity\":10}");
+
+        // Act
+        var number = send("POST", "/enroll", "{\"studentId\":1001,\"courseCode\":\"CSCI4490\"}");
+        var object = send("POST", "/enroll", "{\"studentId\":\"B100\",\"courseCode\":{\"code\":\"CSCI4490\"}}");
+        var student = send("POST", "/students", "{\"id\":\"B100\",\"name\":[\"Ann\"],\"email\":\"a@uca.edu\"}");
+        var prerequisite = send("POST", "/courses",
+                "{\"code\":\"CSCI4491\",\"title\":\"Capstone\",\"capacity\":5,\"prerequisites\":[4490]}");
+
+        // Assert
+        for (var response : List.of(number, object, student, prerequisite)) {
+            assertEquals(400, response.statusCode());
+            assertTrue(response.body().contains("\"result\":\"INVALID_REQUEST\""));
+        }
+        assertTrue(number.body().contains("studentId must be a string"));
+        assertTrue(send("GET", "/courses", null).body().contains("\"enrolled\":0"));
+    }
+
+    @Test
+    @DisplayName("HT-05: Fractional or out-of-range capacities are rejected, not truncated")
+    void addCourse_NonIntegralCapacity_Rejected() throws Exception {
+        // Act
+        var fractional = send("POST", "/courses", "{\"code\":\"CSCI4490\",\"title\":\"Software Engineering\",\"capacity\":10.5}");
+        var huge = send("POST", "/courses", "{\"code\":\"CSCI4490\",\"title\":\"Software Engineering\",\"capacity\":1e10}");
+        var text = send("POST", "/courses", "{\"code\":\"CSCI4490\",\"title\":\"Software Engineering\",\"capacity\":\"10\"}");
+
+        // Assert
+        for (var response : List.of(fractional, huge, text)) {
+            assertEquals(400, response.statusCode());
+            assertTrue(response.body().contains("\"result\":\"INVALID_REQUEST\""));
+        }
+        assertTrue(fractional.body().contains("Capacity must be a whole number"));
+        assertFalse(send("GET", "/courses", null).body().contains("CSCI4490"));
+    }
+}
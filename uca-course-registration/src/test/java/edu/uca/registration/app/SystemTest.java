@@ -1,6 +1,8 @@
 package test.java.edu.uca.registration.app;
 
 import edu.uca.registration.service.RegistrationService;
+import edu.uca.registration.service.EnrollmentResult;
+import edu.uca.registration.service.EnrollmentResult.Status;
 import edu.uca.registration.repo.impl.CsvCourseRepository;
 import edu.uca.registration.repo.impl.CsvEnrollmentRepository;
 import edu.uca.registration.repo.impl.CsvStudentRepository;
@@ -48,6 +50,7 @@ class SystemTest {
         private final String studentsFile;
 
         public EmptyCsvStudentRepository(String studentsFile) {
+            super(studentsFile);
             this.studentsFile = studentsFile;
             // Start with completely empty data
             clearAllData();
@@ -73,6 +76,7 @@ class SystemTest {
         private final String coursesFile;
 
         public EmptyCsvCourseRepository(String coursesFile) {
+            super(coursesFile);
             this.coursesFile = coursesFile;
             // Start with completely empty data
             clearAllData();
@@ -98,7 +102,7 @@ class SystemTest {
         private final String enrollmentsFile;
 
         public EmptyCsvEnrollmentRepository(EmptyCsvCourseRepository courseRepository, String enrollmentsFile) {
-            super(courseRepository);
+            super(courseRepository, enrollmentsFile, enrollmentsFile + ".log");
             this.enrollmentsFile = enrollmentsFile;
         }
 
@@ -122,8 +126,8 @@ class SystemTest {
                 registrationService.addCourse("CSCI4490", "Software Engineering", 50)); // Large capacity
 
         // Enroll student - should work since course is empty and has large capacity
-        String enrollResult = registrationService.enrollStudent("B999", "CSCI4490");
-        assertEquals("ENROLLED", enrollResult, "Should enroll successfully in empty course");
+        EnrollmentResult enrollResult = registrationService.enrollStudent("B999", "CSCI4490");
+        assertEquals(Status.ENROLLED, enrollResult.status, "Should enroll successfully in empty course");
 
         // Verify enrollment
         var courses = registrationService.getAllCourses();
@@ -131,8 +135,8 @@ class SystemTest {
         assertTrue(courses.get(0).roster.contains("B999"), "Student should be in roster");
 
         // Drop student
-        String dropResult = registrationService.dropStudent("B999", "CSCI4490");
-        assertEquals("DROPPED", dropResult, "Should drop successfully");
+        EnrollmentResult dropResult = registrationService.dropStudent("B999", "CSCI4490");
+        assertEquals(Status.DROPPED, dropResult.status, "Should drop successfully");
 
         // Verify drop
         courses = registrationService.getAllCourses();
@@ -159,14 +163,14 @@ class SystemTest {
         registrationService.addCourse("CSCI4490", "Software Engineering", 2);
 
         // Act - Fill course to capacity
-        String result1 = registrationService.enrollStudent("B100", "CSCI4490");
-        String result2 = registrationService.enrollStudent("B101", "CSCI4490");
-        String result3 = registrationService.enrollStudent("B102", "CSCI4490");
+        EnrollmentResult result1 = registrationService.enrollStudent("B100", "CSCI4490");
+        EnrollmentResult result2 = registrationService.enrollStudent("B101", "CSCI4490");
+        EnrollmentResult result3 = registrationService.enrollStudent("B102", "CSCI4490");
 
         // Assert waitlist behavior
-        assertEquals("ENROLLED", result1, "First student should enroll");
-        assertEquals("ENROLLED", result2, "Second student should enroll");
-        assertEquals("WAITLIST", result3, "Third student should be waitlisted");
+        assertEquals(Status.ENROLLED, result1.status, "First student should enroll");
+        assertEquals(Status.ENROLLED, result2.status, "Second student should enroll");
+        assertEquals(Status.WAITLISTED, result3.status, "Third student should be waitlisted");
 
         var course = registrationService.getAllCourses().get(0);
         assertEquals(2, course.roster.size(), "Course should be at capacity");
@@ -174,10 +178,11 @@ class SystemTest {
         assertTrue(course.waitlist.contains("B102"), "B102 should be waitlisted");
 
         // Act - Drop and promote
-        String dropResult = registrationService.dropStudent("B100", "CSCI4490");
+        EnrollmentResult dropResult = registrationService.dropStudent("B100", "CSCI4490");
 
         // Assert promotion
-        assertEquals("PROMOTED:B102", dropResult, "Should promote waitlisted student");
+        assertEquals(Status.PROMOTED, dropResult.status, "Should promote waitlisted student");
+        assertEquals("B102", dropResult.promotedStudentId);
 
         course = registrationService.getAllCourses().get(0);
         assertEquals(2, course.roster.size(), "Course should still be at capacity");
@@ -0,0 +1,126 @@
+package test.java.edu.uca.registration.metrics;
+
+import edu.uca.registration.metrics.Counter;
+import edu.uca.registration.metrics.LatencyHistogram;
+import edu.uca.registration.metrics.Metrics;
+import edu.uca.registration.repo.impl.CsvCourseRepository;
+import edu.uca.registration.repo.impl.CsvEnrollmentRepository;
+import edu.uca.registration.repo.impl.CsvStudentRepository;
+import edu.uca.registration.service.RegistrationService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MetricsTest {
+
+    @TempDir
+    Path tempDir;
+
+    private static Counter outcomes(String operation, String outcome) {
+        return Metrics.counter("registration_outcomes_total", "Enroll and drop outcomes",
+                "operation", operation, "outcome", outcome);
+    }
+
+    @Test
+    @DisplayName("MT-01: Histogram percentiles stay within one bucket of the recorded values")
+    void histogram_Percentiles_WithinBucketError() {
+        // Arrange
+        LatencyHistogram h = Metrics.histogram("test_latency_seconds", "Test latencies", "case", "mt01");
+
+        // Act
+        for (long v = 1; v <= 1000; v++) h.record(v * 1000);
+
+        // Assert
+        assertEquals(1000, h.count());
+        assertEquals(1_000_000, h.maxNanos());
+        long p50 = h.percentile(0.5), p99 = h.percentile(0.99);
+        assertTrue(p50 >= 500_000 && p50 <= 500_000 * 1.125, "p50 was " + p50);
+        assertTrue(p99 >= 990_000 && p99 <= 1_000_000, "p99 was " + p99);
+        assertEquals(1_000_000, h.percentile(1.0));
+    }
+
+    @Test
+    @DisplayName("MT-02: Enroll and drop outcomes, latencies and journal writes are exported")
+    void registrationService_RecordsOutcomesAndPersistence() {
+        // Arrange
+        var courseRepo = new CsvCourseRepository(tempDir.resolve("courses.csv").toString());
+        var service = new RegistrationService(new CsvStudentRepository(tempDir.resolve("students.csv").toString()),
+                courseRepo, new CsvEnrollmentRepository(courseRepo, tempDir.resolve("enrollments.csv").toString(),
+                        tempDir.resolve("enrollments.log").toString()));
+        service.addCourse("CSCI4490", "Software Engineering", 1);
+        long enrolled = outcomes("enroll", "ENROLLED").get();
+        long waitlisted = outcomes("enroll", "WAITLISTED").get();
+        long promoted = outcomes("drop", "PROMOTED").get();
+        long missing = outcomes("enroll", "NO_SUCH_COURSE").get();
+        long journalBytes = Metrics.bytesWritten("journal").get();
+        long journalSyncs = Metrics.fsyncs("journal").get();
+
+        // Act
+        service.enrollStudent("B001", "CSCI4490");
+        service.enrollStudent("B002", "CSCI4490");
+        service.enrollStudent("B001", "NOPE");
+        service.dropStudent("B001", "CSCI4490");
+        String text = Metrics.toPrometheus();
+
+        // Assert
+        assertEquals(enrolled + 1, outcomes("enroll", "ENROLLED").get());
+        assertEquals(waitlisted + 1, outcomes("enroll", "WAITLISTED").get());
+        assertEquals(promoted + 1, outcomes("drop", "PROMOTED").get());
+        assertEquals(missing + 1, outcomes("enroll", "NO_SUCH_COURSE").get());
+        assertTrue(Metrics.bytesWritten("journal").get() > journalBytes);
+        assertTrue(Metrics.fsyncs("journal").get() >= journalSyncs + 3);
+        assertTrue(text.contains("# TYPE registration_outcomes_total counter"));
+        assertTrue(text.contains("registration_outcomes_total{operation=\"drop\",outcome=\"PROMOTED\"} "));
+        assertTrue(text.contains("registration_operation_seconds{operation=\"enroll\",quantile=\"0.99\"} "));
+        assertTrue(text.contains("registration_operation_seconds_count{operation=\"drop\"} "));
+    }
+
+    @Test
+    @DisplayName("MT-03: Enrollments and saves emit Flight Recorder events while recording")
+    void registrationService_EmitsFlightRecorderEvents() throws Exception {
+        // Arrange
+        var courseRepo = new CsvCourseRepository(tempDir.resolve("courses.csv").toString());
+        var service = new RegistrationService(new CsvStudentRepository(tempDir.resolve("students.csv").toString()),
+                courseRepo, new CsvEnrollmentRepository(courseRepo, tempDir.resolve("enrollments.csv").toString(),
+                        tempDir.resolve("enrollments.log").toString()));
+        service.addCourse("CSCI4490", "Software Engineering", 1);
+        Path dump = tempDir.resolve("trace.jfr");
+
+        // Act
+        try (Recording recording = new Recording()) {
+            recording.enable("edu.uca.registration.Enrollment");
+            recording.enable("edu.uca.registration.Persistence");
+            recording.start();
+            service.enrollStudent("B001", "CSCI4490");
+            service.enrollStudent("B002", "CSCI4490");
+            service.saveAllData();
+            recording.stop();
+            recording.dump(dump);
+        }
+        List<RecordedEvent> events = RecordingFile.readAllEvents(dump);
+
+        // Assert
+        var enrollments = events.stream()
+                .filter(e -> e.getEventType().getName().equals("edu.uca.registration.Enrollment")).toList();
+        assertEquals(2, enrollments.size());
+        assertEquals("CSCI4490", enrollments.get(1).getString("courseCode"));
+        assertEquals("WAITLISTED", enrollments.get(1).getString("outcome"));
+        assertEquals(1, enrollments.get(1).getInt("rosterSize"));
+        assertEquals(1, enrollments.get(1).getInt("waitlistSize"));
+        var save = events.stream()
+                .filter(e -> e.getEventType().getName().equals("edu.uca.registration.Persistence"))
+                .filter(e -> "enrollments".equals(e.getString("store"))).findFirst().orElseThrow();
+        assertEquals("save", save.getString("operation"));
+        assertEquals(2, save.getInt("records"));
+        assertTrue(save.getLong("bytesWritten") > 0);
+    }
+}
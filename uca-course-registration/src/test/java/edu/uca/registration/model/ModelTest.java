@@ -1,7 +1,10 @@
 package test.java.edu.uca.registration.model;
 
 import edu.uca.registration.model.Course;
+import edu.uca.registration.model.MeetingTime;
+import edu.uca.registration.model.RosterBitmap;
 import edu.uca.registration.model.Student;
+import edu.uca.registration.model.StudentIds;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.DisplayName;
 
@@ -62,4 +65,126 @@ class ModelTest {
         assertEquals(1, course.roster.size());
         assertEquals(0, course.waitlist.size());
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("Roster and waitlist keep insertion order and reject duplicates")
+    void seatStructures_OrderAndDuplicates() {
+        // Arrange
+        Course course = new Course("CSCI4490", "Software Engineering", 2);
+        course.roster.add("B002");
+        course.roster.add("B001");
+        course.waitlist.add("B003");
+        course.waitlist.add("B004");
+        course.waitlist.add("B005");
+
+        // Act
+        boolean duplicateSeat = course.roster.add("B001");
+        boolean duplicateWait = course.waitlist.add("B004");
+        course.waitlist.remove("B004");
+        String head = course.waitlist.removeFirst();
+
+        // Assert
+        assertFalse(duplicateSeat);
+        assertFalse(duplicateWait);
+        assertEquals("B003", head);
+        assertEquals(java.util.List.of("B002", "B001"), new java.util.ArrayList<>(course.roster));
+        assertEquals(java.util.List.of("B005"), new java.util.ArrayList<>(course.waitlist));
+        assertEquals("B005", course.waitlist.getFirst());
+    }
+
+    @Test
+    @DisplayName("Waitlist positions stay correct across removals and growth")
+    void waitlistPositions_AfterRemovals() {
+        // Arrange
+        Course course = new Course("CSCI4490", "Software Engineering", 1);
+        for (int i = 0; i < 100; i++) course.waitlist.add("B" + i);
+
+        // Act - remove every even student and the head
+        for (int i = 0; i < 100; i += 2) course.waitlist.remove("B" + i);
+        course.waitlist.removeFirst();
+        for (int i = 100; i < 140; i++) course.waitlist.add("B" + i);
+
+        // Assert
+        assertEquals(-1, course.waitlist.positionOf("B1"));
+        assertEquals(1, course.waitlist.positionOf("B3"));
+        assertEquals(49, course.waitlist.positionOf("B99"));
+        assertEquals(50, course.waitlist.positionOf("B100"));
+        assertEquals(89, course.waitlist.positionOf("B139"));
+    }
+
+    @Test
+    @DisplayName("Roster and waitlist ordinals match their banner-ID view")
+    void ordinalViews_MatchStringViews() {
+        // Arrange
+        Course course = new Course("CSCI4490", "Software Engineering", 1);
+        int b1 = StudentIds.intern("B901");
+        int b2 = StudentIds.intern("B902");
+
+        // Act
+        course.roster.addId(b1);
+        course.waitlist.add("B902");
+        for (int i = 0; i < 500; i++) course.waitlist.add("B95" + i);
+        for (int i = 0; i < 500; i++) course.waitlist.remove("B95" + i);
+        course.waitlist.add("B903");
+
+        // Assert
+        assertEquals(b1, StudentIds.intern("B901"));
+        assertTrue(course.roster.contains("B901"));
+        assertFalse(course.roster.contains("B-unknown"));
+        assertEquals(b2, course.waitlist.getFirstId());
+        assertEquals(2, course.waitlist.positionOf("B903"));
+        assertEquals(java.util.List.of("B902", "B903"), new java.util.ArrayList<>(course.waitlist));
+        assertEquals("B902", StudentIds.idOf(course.waitlist.removeFirstId()));
+    }
+
+    @Test
+    @DisplayName("Roster bitmaps agree with plain sets across container sizes")
+    void rosterBitmap_MatchesReferenceSets() {
+        // Arrange - dense ranges become bitmap containers, sparse ones stay arrays
+        RosterBitmap a = new RosterBitmap(), b = new RosterBitmap();
+        java.util.TreeSet<Integer> setA = new java.util.TreeSet<>(), setB = new java.util.TreeSet<>();
+        for (int i = 0; i < 10000; i++) {
+            a.add(i * 2);
+            setA.add(i * 2);
+            b.add(i * 3);
+            setB.add(i * 3);
+        }
+        for (int i = 0; i < 100; i++) {
+            a.add(200_000 + i * 7);
+            setA.add(200_000 + i * 7);
+        }
+        for (int i = 0; i < 6000; i++) {
+            a.remove(i * 2);
+            setA.remove(i * 2);
+        }
+
+        // Act
+        java.util.TreeSet<Integer> and = new java.util.TreeSet<>(setA), or = new java.util.TreeSet<>(setA);
+        and.retainAll(setB);
+        or.addAll(setB);
+
+        // Assert
+        assertEquals(setA.size(), a.cardinality());
+        assertTrue(a.contains(200_007) && !a.contains(200_008) && !a.contains(-1));
+        assertArrayEquals(and.stream().mapToInt(Integer::intValue).toArray(), a.and(b).toArray());
+        assertArrayEquals(or.stream().mapToInt(Integer::intValue).toArray(), a.or(b).toArray());
+        assertEquals(or.size(), b.or(a).cardinality());
+    }
+
+    @Test
+    @DisplayName("Meeting times parse, print and overlap by day and time")
+    void meetingTime_ParseAndOverlap() {
+        // Arrange
+        MeetingTime mwf = MeetingTime.parse("mwf 09:00-09:50");
+        MeetingTime tr = MeetingTime.parse("TR 09:00-10:15");
+        MeetingTime late = MeetingTime.parse("F 09:49-11:00");
+
+        // Act & Assert
+        assertEquals("MWF 09:00-09:50", mwf.toString());
+        assertFalse(mwf.overlaps(tr));
+        assertTrue(mwf.overlaps(late));
+        assertEquals(MeetingTime.WEEK_WORDS, mwf.slotMask().length);
+        assertThrows(IllegalArgumentException.class, () -> MeetingTime.parse("MWF 9am"));
+        assertThrows(IllegalArgumentException.class, () -> MeetingTime.parse("XYZ 09:00-09:50"));
+    }
+}
@@ -0,0 +1,97 @@
+package test.java.edu.uca.registration.repo;
+
+import edu.uca.registration.model.Student;
+import edu.uca.registration.repo.impl.AtomicFileWriter;
+import edu.uca.registration.repo.impl.AtomicFileWriter.Integrity;
+import edu.uca.registration.repo.impl.CsvStudentRepository;
+import edu.uca.registration.repo.impl.DelimitedRecordReader;
+import edu.uca.registration.repo.impl.DelimitedRecordWriter;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AtomicFileWriterTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    @DisplayName("AF-01: Committed files carry a verified trailer that readers skip")
+    void commit_WritesVerifiedTrailer() throws Exception {
+        // Arrange
+        Path file = tempDir.resolve("students.csv");
+        int rows = 40_000; // several buffers' worth, with multi-byte characters
+
+        // Act
+        try (var writer = AtomicFileWriter.open(file, "test");
+             var out = new DelimitedRecordWriter(writer, ',')) {
+            for (int i = 0; i < rows; i++) out.field("B" + i).field("Zoë Ñúñez " + i).field("z" + i + "@uca.edu").endRecord();
+            writer.commit();
+        }
+        int read = 0;
+        String last = null;
+        try (var reader = DelimitedRecordReader.open(file, ',')) {
+            while (reader.next()) {
+                read++;
+                last = reader.field(1);
+            }
+        }
+
+        // Assert
+        assertEquals(Integrity.VERIFIED, AtomicFileWriter.verify(file));
+        assertEquals(rows, read);
+        assertEquals("Zoë Ñúñez " + (rows - 1), last);
+        assertFalse(Files.exists(tempDir.resolve("students.csv.tmp")));
+    }
+
+    @Test
+    @DisplayName("AF-02: Closing without commit leaves the previous file untouched")
+    void closeWithoutCommit_KeepsPreviousFile() throws Exception {
+        // Arrange
+        Path file = tempDir.resolve("courses.csv");
+        Files.writeString(file, "CSCI4490,Software Engineering,30\n");
+
+        // Act
+        try (var writer = AtomicFileWriter.open(file, "test")) {
+            writer.write("MATH1496,Calculus I,50\n");
+            writer.flush();
+        }
+
+        // Assert
+        assertEquals("CSCI4490,Software Engineering,30\n", Files.readString(file));
+        assertFalse(Files.exists(tempDir.resolve("courses.csv.tmp")));
+    }
+
+    @Test
+    @DisplayName("AF-03: Damaged files fail verification and are moved aside, files without a trailer still load")
+    void verify_DetectsDamageAndAcceptsLegacyFiles() throws Exception {
+        // Arrange
+        Path sealed = tempDir.resolve("students.csv");
+        new CsvStudentRepository(sealed.toString()).save(new Student("B001", "Alice", "alice@uca.edu"));
+        Path legacy = tempDir.resolve("legacy.csv");
+        Files.writeString(legacy, "B002,Brian,brian@uca.edu\n");
+
+        // Act
+        Integrity before = AtomicFileWriter.verify(sealed);
+        byte[] bytes = Files.readAllBytes(sealed);
+        bytes[1] = '9';
+        Files.write(sealed, bytes);
+        Integrity after = AtomicFileWriter.verify(sealed);
+
+        // Assert
+        assertEquals(Integrity.VERIFIED, before);
+        assertEquals(Integrity.CORRUPT, after);
+        assertEquals(Integrity.UNSEALED, AtomicFileWriter.verify(legacy));
+        assertNull(new CsvStudentRepository(sealed.toString()).findById("B901"));
+        assertFalse(Files.exists(sealed));
+        assertArrayEquals(bytes, Files.readAllBytes(tempDir.resolve("students.csv.corrupt")));
+        assertNotNull(new CsvStudentRepository(legacy.toString()).findById("B002"));
+        assertTrue(new String(bytes, StandardCharsets.UTF_8).contains("#!checksum records=1 "));
+    }
+}
@@ -0,0 +1,132 @@
+package test.java.edu.uca.registration.repo;
+
+import edu.uca.registration.model.Course;
+import edu.uca.registration.model.MeetingTime;
+import edu.uca.registration.model.Student;
+import edu.uca.registration.repo.EnrollmentRepository.Mutation;
+import edu.uca.registration.repo.impl.BinaryCourseRepository;
+import edu.uca.registration.repo.impl.BinaryEnrollmentRepository;
+import edu.uca.registration.repo.impl.BinaryFormatConverter;
+import edu.uca.registration.repo.impl.BinaryStudentRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BinaryRepositoryTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    @DisplayName("BR-01: Students and courses round-trip through the binary files")
+    void save_RoundTripsStudentsAndCourses() {
+        // Arrange
+        String studentsFile = tempDir.resolve("students.bin").toString();
+        String coursesFile = tempDir.resolve("courses.bin").toString();
+        var students = new BinaryStudentRepository(studentsFile);
+        var courses = new BinaryCourseRepository(coursesFile);
+
+        // Act
+        students.save(new Student("B001", "Doe, \"Jane\"", "jane@uca.edu"));
+        students.save(new Student("B002", "Zoë", "zoe@uca.edu"));
+        courses.save(new Course("CSCI4490", "Software Engineering", 500));
+        Course timed = new Course("MATH1496", "Calculus I", 40);
+        timed.meetingTime = MeetingTime.parse("TR 13:00-14:15");
+        courses.save(timed);
+
+        // Assert
+        var reopenedStudents = new BinaryStudentRepository(studentsFile);
+        var reopenedCourses = new BinaryCourseRepository(coursesFile);
+        assertEquals("Doe, \"Jane\"", reopenedStudents.findById("B001").name);
+        assertEquals("Zoë", reopenedStudents.findById("B002").name);
+        assertEquals(500, reopenedCourses.findByCode("CSCI4490").capacity);
+        assertNull(reopenedCourses.findByCode("CSCI4490").meetingTime);
+        assertEquals("TR 13:00-14:15", reopenedCourses.findByCode("MATH1496").meetingTime.toString());
+    }
+
+    @Test
+    @DisplayName("BR-02: Enrollment snapshot keeps roster and waitlist order, then replays the journal")
+    void enrollments_SnapshotAndJournal() {
+        // Arrange
+        String enrollmentsFile = tempDir.resolve("enrollments.bin").toString();
+        String logFile = tempDir.resolve("enrollments.bin.log").toString();
+        Course course = new Course("CSCI4490", "Software Engineering", 2);
+        course.roster.add("B001");
+        course.roster.add("B002");
+        course.waitlist.add("B004");
+        course.waitlist.add("B003");
+        var repo = new BinaryEnrollmentRepository(new CsvEnrollmentRepositoryTest.InMemoryCourseRepository(course), enrollmentsFile, logFile);
+
+        // Act
+        repo.saveEnrollments();
+        repo.recordPromotion("CSCI4490", "B001", "B004");
+        Course reloaded = new Course("CSCI4490", "Software Engineering", 2);
+        new BinaryEnrollmentRepository(new CsvEnrollmentRepositoryTest.InMemoryCourseRepository(reloaded), enrollmentsFile, logFile)
+                .loadEnrollments();
+
+        // Assert
+        assertEquals(List.of("B002", "B004"), new ArrayList<>(reloaded.roster));
+        assertEquals(List.of("B003"), new ArrayList<>(reloaded.waitlist));
+    }
+
+    @Test
+    @DisplayName("BR-03: Converter produces smaller binary files with the same data")
+    void convert_MatchesCsvData() throws Exception {
+        // Arrange
+        StringBuilder students = new StringBuilder(), enrollments = new StringBuilder();
+        for (int i = 0; i < 500; i++) {
+            students.append("B").append(1000 + i).append(",Student ").append(i).append(",s").append(i).append("@uca.edu\n");
+            for (String code : new String[]{"CSCI4490", "MATH1496", "ENGL1301"}) {
+                enrollments.append(code).append("|B").append(1000 + i).append(i < 100 ? "|ENROLLED\n" : "|WAITLIST\n");
+            }
+        }
+        Files.writeString(tempDir.resolve("students.csv"), students);
+        Files.writeString(tempDir.resolve("courses.csv"),
+                "CSCI4490,Software Engineering,100,,CSCI1480;MATH1496\nMATH1496,Calculus I,100,MWF 08:00-08:50\nENGL1301,Composition I,100\n");
+        Files.writeString(tempDir.resolve("students.csv"), "B0999,Old Student,old@uca.edu,CSCI1480;MATH1496\n", StandardOpenOption.APPEND);
+        Files.writeString(tempDir.resolve("enrollments.csv"), enrollments);
+        Files.writeString(tempDir.resolve("enrollments.log"), "DROP|MATH1496|B1000\n");
+
+        // Act
+        BinaryFormatConverter.convert(tempDir);
+
+        // Assert
+        var courses = new BinaryCourseRepository(tempDir.resolve("courses.bin").toString());
+        new BinaryEnrollmentRepository(courses, tempDir.resolve("enrollments.bin").toString(),
+                tempDir.resolve("enrollments.bin.log").toString()).loadEnrollments();
+        var binaryStudents = new BinaryStudentRepository(tempDir.resolve("students.bin").toString());
+        assertEquals(501, binaryStudents.findAll().size());
+        assertEquals(Set.of("CSCI1480", "MATH1496"), binaryStudents.findById("B0999").completedCourses);
+        assertEquals(List.of("CSCI1480", "MATH1496"), courses.findByCode("CSCI4490").prerequisites);
+        assertNull(courses.findByCode("CSCI4490").meetingTime);
+        assertEquals("MWF 08:00-08:50", courses.findByCode("MATH1496").meetingTime.toString());
+        assertEquals(100, courses.findByCode("CSCI4490").roster.size());
+        assertEquals(400, courses.findByCode("CSCI4490").waitlist.size());
+        assertEquals("B1100", courses.findByCode("CSCI4490").waitlist.getFirst());
+        assertFalse(courses.findByCode("MATH1496").roster.contains("B1000"));
+        assertTrue(Files.size(tempDir.resolve("enrollments.bin")) * 3 < Files.size(tempDir.resolve("enrollments.csv")));
+    }
+
+    @Test
+    @DisplayName("BR-04: Files of the wrong kind are rejected")
+    void load_RejectsWrongKind() throws Exception {
+        // Arrange
+        Path file = tempDir.resolve("students.bin");
+        new BinaryStudentRepository(file.toString()).save(new Student("B001", "Alice", "alice@uca.edu"));
+
+        // Act
+        var courses = new BinaryCourseRepository(file.toString());
+
+        // Assert
+        assertTrue(courses.findAll().isEmpty());
+    }
+}
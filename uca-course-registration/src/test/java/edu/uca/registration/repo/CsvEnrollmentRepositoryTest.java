@@ -0,0 +1,182 @@
+package test.java.edu.uca.registration.repo;
+
+import edu.uca.registration.model.Course;
+import edu.uca.registration.repo.CourseRepository;
+import edu.uca.registration.repo.EnrollmentRepository.Mutation;
+import edu.uca.registration.repo.impl.CsvEnrollmentRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CsvEnrollmentRepositoryTest {
+
+    @TempDir
+    Path tempDir;
+
+    private Path enrollmentsFile;
+    private Path logFile;
+
+    @BeforeEach
+    void setUp() {
+        enrollmentsFile = tempDir.resolve("enrollments.csv");
+        logFile = tempDir.resolve("enrollments.log");
+    }
+
+    static class InMemoryCourseRepository implements CourseRepository {
+        private final Map<String, Course> courses = new LinkedHashMap<>();
+
+        InMemoryCourseRepository(Course... seed) {
+            for (Course c : seed) courses.put(c.code, c);
+        }
+
+        @Override
+        public void save(Course course) { courses.put(course.code, course); }
+
+        @Override
+        public Course findByCode(String code) { return courses.get(code); }
+
+        @Override
+        public List<Course> findAll() { return new ArrayList<>(courses.values()); }
+
+        @Override
+        public boolean existsByCode(String code) { return courses.containsKey(code); }
+
+        @Override
+        public Map<String, Course> getAllCoursesMap() { return courses; }
+    }
+
+    // Snapshot rows, without the checksum trailer
+    private static List<String> records(Path file) throws Exception {
+        List<String> lines = new ArrayList<>(Files.readAllLines(file));
+        lines.removeIf(line -> line.startsWith("#!checksum"));
+        return lines;
+    }
+
+    private CsvEnrollmentRepository reopen(InMemoryCourseRepository courses) {
+        var repo = new CsvEnrollmentRepository(courses, enrollmentsFile.toString(), logFile.toString());
+        repo.loadEnrollments();
+        return repo;
+    }
+
+    @Test
+    @DisplayName("RT-01: Logged mutations are replayed on startup")
+    void loadEnrollments_ReplaysLog() {
+        var writer = reopen(new InMemoryCourseRepository(new Course("CSCI4490", "Software Engineering", 1)));
+        writer.recordChange(Mutation.ENROLL, "CSCI4490", "B001");
+        writer.recordChange(Mutation.WAITLIST, "CSCI4490", "B002");
+        writer.recordChange(Mutation.WAITLIST, "CSCI4490", "B003");
+        writer.recordPromotion("CSCI4490", "B001", "B002");
+
+        Course course = new Course("CSCI4490", "Software Engineering", 1);
+        reopen(new InMemoryCourseRepository(course));
+
+        assertEquals(List.of("B002"), new ArrayList<>(course.roster));
+        assertEquals(List.of("B003"), new ArrayList<>(course.waitlist));
+        assertFalse(Files.exists(enrollmentsFile), "No full save should have happened");
+    }
+
+    @Test
+    @DisplayName("RT-02: Torn trailing record is ignored and overwritten")
+    void loadEnrollments_IgnoresTornRecord() throws Exception {
+        var writer = reopen(new InMemoryCourseRepository(new Course("CSCI4490", "Software Engineering", 5)));
+        writer.recordChange(Mutation.ENROLL, "CSCI4490", "B001");
+        Files.writeString(logFile, "ENROLL|CSCI4490|B0", StandardCharsets.UTF_8, StandardOpenOption.APPEND);
+
+        Course course = new Course("CSCI4490", "Software Engineering", 5);
+        var repo = reopen(new InMemoryCourseRepository(course));
+        assertEquals(List.of("B001"), new ArrayList<>(course.roster));
+
+        repo.recordChange(Mutation.ENROLL, "CSCI4490", "B002");
+        assertEquals("ENROLL|CSCI4490|B001\nENROLL|CSCI4490|B002\n", Files.readString(logFile));
+    }
+
+    @Test
+    @DisplayName("RT-03: Full save seals the log, folds it into the CSV and deletes the sealed segment")
+    void saveEnrollments_TruncatesLog() throws Exception {
+        Course course = new Course("CSCI4490", "Software Engineering", 1);
+        var repo = reopen(new InMemoryCourseRepository(course));
+        course.roster.add("B001");
+        repo.recordChange(Mutation.ENROLL, "CSCI4490", "B001");
+        course.waitlist.add("B002");
+        repo.recordChange(Mutation.WAITLIST, "CSCI4490", "B002");
+
+        repo.saveEnrollments();
+
+        assertEquals(0, repo.getLogSize());
+        assertFalse(Files.exists(tempDir.resolve("enrollments.log.old")));
+        assertEquals(List.of("CSCI4490|B001|ENROLLED", "CSCI4490|B002|WAITLIST"), records(enrollmentsFile));
+
+        Course reloaded = new Course("CSCI4490", "Software Engineering", 1);
+        reopen(new InMemoryCourseRepository(reloaded));
+        assertEquals(List.of("B001"), new ArrayList<>(reloaded.roster));
+        assertEquals(List.of("B002"), new ArrayList<>(reloaded.waitlist));
+    }
+
+    @Test
+    @DisplayName("RT-04: Checkpoint folds the log into a new snapshot and keeps later appends")
+    void checkpoint_CompactsLog() throws Exception {
+        var repo = reopen(new InMemoryCourseRepository(new Course("CSCI4490", "Software Engineering", 1)));
+        repo.recordChange(Mutation.ENROLL, "CSCI4490", "B001");
+        repo.recordChange(Mutation.WAITLIST, "CSCI4490", "B002");
+
+        repo.checkpoint();
+
+        assertEquals(0, repo.getLogSize());
+        assertEquals(List.of("CSCI4490|B001|ENROLLED", "CSCI4490|B002|WAITLIST"), records(enrollmentsFile));
+
+        repo.recordPromotion("CSCI4490", "B001", "B002");
+
+        Course reloaded = new Course("CSCI4490", "Software Engineering", 1);
+        reopen(new InMemoryCourseRepository(reloaded));
+        assertEquals(List.of("B002"), new ArrayList<>(reloaded.roster));
+        assertTrue(reloaded.waitlist.isEmpty());
+    }
+
+    @Test
+    @DisplayName("RT-05: Sealed segment from an interrupted checkpoint is replayed and compacted")
+    void checkpoint_RecoversSealedSegment() throws Exception {
+        Files.writeString(enrollmentsFile, "CSCI4490|B001|ENROLLED\n");
+        Files.writeString(tempDir.resolve("enrollments.log.old"), "DROP|CSCI4490|B001\nENROLL|CSCI4490|B003\n");
+        Files.writeString(logFile, "ENROLL|CSCI4490|B004\n");
+
+        Course course = new Course("CSCI4490", "Software Engineering", 5);
+        var repo = reopen(new InMemoryCourseRepository(course));
+        assertEquals(List.of("B003", "B004"), new ArrayList<>(course.roster));
+
+        repo.checkpoint();
+
+        assertFalse(Files.exists(tempDir.resolve("enrollments.log.old")));
+        assertEquals(List.of("CSCI4490|B003|ENROLLED"), records(enrollmentsFile));
+        assertEquals(List.of("ENROLL|CSCI4490|B004"), Files.readAllLines(logFile));
+    }
+
+    @Test
+    @DisplayName("RT-06: Full save after an interrupted checkpoint keeps the changes logged after it")
+    void saveEnrollments_KeepsLaterAppends() throws Exception {
+        Files.writeString(enrollmentsFile, "CSCI4490|B001|ENROLLED\n");
+        Files.writeString(tempDir.resolve("enrollments.log.old"), "DROP|CSCI4490|B001\nENROLL|CSCI4490|B003\n");
+        Files.writeString(logFile, "ENROLL|CSCI4490|B004\n");
+        Course course = new Course("CSCI4490", "Software Engineering", 5);
+        var repo = reopen(new InMemoryCourseRepository(course));
+
+        repo.saveEnrollments();
+        course.roster.add("B005");
+        repo.recordChange(Mutation.ENROLL, "CSCI4490", "B005");
+
+        assertFalse(Files.exists(tempDir.resolve("enrollments.log.old")));
+        assertEquals(List.of("CSCI4490|B003|ENROLLED", "CSCI4490|B004|ENROLLED"), records(enrollmentsFile));
+        assertEquals(List.of("ENROLL|CSCI4490|B005"), Files.readAllLines(logFile));
+        Course reloaded = new Course("CSCI4490", "Software Engineering", 5);
+        reopen(new InMemoryCourseRepository(reloaded));
+        assertEquals(List.of("B003", "B004", "B005"), new ArrayList<>(reloaded.roster));
+    }
+}
@@ -0,0 +1,92 @@
+package test.java.edu.uca.registration.repo;
+
+import edu.uca.registration.repo.impl.DelimitedRecordReader;
+import edu.uca.registration.repo.impl.DelimitedRecordWriter;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DelimitedRecordReaderTest {
+
+    private static DelimitedRecordReader reader(String text, char delimiter) {
+        return new DelimitedRecordReader(Channels.newChannel(
+                new ByteArrayInputStream(text.getBytes(StandardCharsets.UTF_8))), delimiter);
+    }
+
+    private static List<List<String>> readAll(DelimitedRecordReader reader) throws IOException {
+        List<List<String>> rows = new ArrayList<>();
+        while (reader.next()) {
+            List<String> row = new ArrayList<>();
+            for (int i = 0; i < reader.fieldCount(); i++) row.add(reader.field(i));
+            rows.add(row);
+        }
+        return rows;
+    }
+
+    @Test
+    @DisplayName("RD-01: Quoted fields, escaped quotes, CRLF and blank lines")
+    void next_HandlesQuotingAndLineEndings() throws IOException {
+        var reader = reader("CSCI4490,\"Software Engineering, Capstone\",30\r\n\r\n"
+                + "B001,\"Alice \"\"Al\"\" Smith\",alice@uca.edu\nB002,Brían,", ',');
+
+        assertEquals(List.of(
+                List.of("CSCI4490", "Software Engineering, Capstone", "30"),
+                List.of("B001", "Alice \"Al\" Smith", "alice@uca.edu"),
+                List.of("B002", "Brían", "")), readAll(reader));
+        assertEquals(0, reader.getBadRows());
+    }
+
+    @Test
+    @DisplayName("RD-02: Unterminated quote is counted as a bad row")
+    void next_CountsUnterminatedQuote() throws IOException {
+        var reader = reader("CSCI4490|B001|ENROLLED\nCSCI4490|\"B002|WAITLIST\n", '|');
+
+        assertEquals(List.of(List.of("CSCI4490", "B001", "ENROLLED")), readAll(reader));
+        assertEquals(1, reader.getBadRows());
+    }
+
+    @Test
+    @DisplayName("RD-03: Records spanning buffer refills and numeric fields")
+    void next_SpansBufferBoundaries() throws IOException {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < 20_000; i++) sb.append("C").append(i).append(",Title ").append(i).append(",").append(i % 500).append('\n');
+        var reader = reader(sb.toString(), ',');
+
+        int rows = 0;
+        while (reader.next()) {
+            assertEquals("C" + rows, reader.field(0));
+            assertEquals(rows % 500, reader.intField(2));
+            rows++;
+        }
+        assertEquals(20_000, rows);
+        assertThrows(NumberFormatException.class, () -> {
+            var r = reader("C1,Title,abc\n", ',');
+            r.next();
+            r.intField(2);
+        });
+    }
+
+    @Test
+    @DisplayName("RD-04: Writer output round-trips through the reader")
+    void writer_RoundTrips() throws IOException {
+        StringWriter out = new StringWriter();
+        var writer = new DelimitedRecordWriter(out, ',');
+        writer.field("MATH1496").field("Calculus I, Section \"A\"").field(50).endRecord();
+        writer.field("\"Quoted\"").field("").field(-1).endRecord();
+        writer.flush();
+
+        var reader = reader(out.toString(), ',');
+        assertEquals(List.of(
+                List.of("MATH1496", "Calculus I, Section \"A\"", "50"),
+                List.of("\"Quoted\"", "", "-1")), readAll(reader));
+    }
+}
@@ -0,0 +1,176 @@
+package test.java.edu.uca.registration.repo;
+
+import edu.uca.registration.model.Course;
+import edu.uca.registration.model.Student;
+import edu.uca.registration.repo.EnrollmentRepository.Mutation;
+import edu.uca.registration.repo.impl.KeyValueStore;
+import edu.uca.registration.repo.impl.KvCourseRepository;
+import edu.uca.registration.repo.impl.KvEnrollmentRepository;
+import edu.uca.registration.repo.impl.KvStudentRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class KeyValueStoreTest {
+
+    @TempDir
+    Path tempDir;
+
+    private static byte[] bytes(String s) {
+        return s.getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Test
+    @DisplayName("KV-01: Puts, overwrites and deletes survive reopening")
+    void putAndDelete_SurviveReopen() throws Exception {
+        // Arrange
+        Path file = tempDir.resolve("test.kv");
+        try (var store = KeyValueStore.open(file)) {
+            // Act
+            store.put("B001", bytes("Alice"));
+            store.put("B002", bytes("Brian"));
+            store.put("B001", bytes("Alice Smith"));
+            store.delete("B002");
+            store.sync();
+        }
+
+        // Assert
+        try (var store = KeyValueStore.open(file)) {
+            assertEquals("Alice Smith", new String(store.get("B001"), StandardCharsets.UTF_8));
+            assertNull(store.get("B002"));
+            assertEquals(1, store.size());
+        }
+    }
+
+    @Test
+    @DisplayName("KV-02: A torn or corrupt tail is dropped on open")
+    void open_TruncatesTornTail() throws Exception {
+        // Arrange
+        Path file = tempDir.resolve("test.kv");
+        try (var store = KeyValueStore.open(file)) {
+            store.put("B001", bytes("Alice"));
+            store.put("B002", bytes("Brian"));
+        }
+        long intact = Files.size(file);
+        byte[] data = Files.readAllBytes(file);
+        data[data.length - 1] ^= 1;
+        Files.write(file, data);
+        Files.write(file, new byte[]{0, 0, 0}, StandardOpenOption.APPEND);
+
+        // Act
+        try (var store = KeyValueStore.open(file)) {
+            // Assert
+            assertEquals("Alice", new String(store.get("B001"), StandardCharsets.UTF_8));
+            assertNull(store.get("B002"));
+            assertTrue(Files.size(file) < intact);
+            store.put("B003", bytes("Carla"));
+        }
+        try (var store = KeyValueStore.open(file)) {
+            assertEquals("Carla", new String(store.get("B003"), StandardCharsets.UTF_8));
+        }
+    }
+
+    @Test
+    @DisplayName("KV-03: Compaction keeps only the newest value of each key")
+    void compact_KeepsLiveEntries() throws Exception {
+        // Arrange
+        Path file = tempDir.resolve("test.kv");
+        try (var store = KeyValueStore.open(file)) {
+            for (int i = 0; i < 1000; i++) store.put("B" + (i % 10), bytes("value " + i));
+
+            // Act
+            store.compact();
+            store.put("B0", bytes("after"));
+        }
+
+        // Assert
+        try (var store = KeyValueStore.open(file)) {
+            assertEquals(10, store.size());
+            assertEquals("after", new String(store.get("B0"), StandardCharsets.UTF_8));
+            assertEquals("value 999", new String(store.get("B9"), StandardCharsets.UTF_8));
+            assertTrue(Files.size(file) < 500);
+        }
+    }
+
+    @Test
+    @DisplayName("KV-04: Repositories rewrite one record per change and reload it")
+    void repositories_PersistPerRecord() {
+        // Arrange
+        String studentsFile = tempDir.resolve("students.kv").toString();
+        String enrollmentsFile = tempDir.resolve("enrollments.kv").toString();
+        Course course = new Course("CSCI4490", "Software Engineering", 1);
+        var enrollments = new KvEnrollmentRepository(new CsvEnrollmentRepositoryTest.InMemoryCourseRepository(course), enrollmentsFile);
+
+        // Act
+        new KvStudentRepository(studentsFile).save(new Student("B001", "Alice", "alice@uca.edu"));
+        course.roster.add("B001");
+        enrollments.recordChange(Mutation.ENROLL, "CSCI4490", "B001");
+        course.waitlist.add("B002");
+        enrollments.recordChange(Mutation.WAITLIST, "CSCI4490", "B002");
+        enrollments.flush();
+
+        // Assert
+        assertEquals("Alice", new KvStudentRepository(studentsFile).findById("B001").name);
+        Course reloaded = new Course("CSCI4490", "Software Engineering", 1);
+        new KvEnrollmentRepository(new CsvEnrollmentRepositoryTest.InMemoryCourseRepository(reloaded), enrollmentsFile)
+                .loadEnrollments();
+        assertEquals(List.of("B001"), new ArrayList<>(reloaded.roster));
+        assertEquals(List.of("B002"), new ArrayList<>(reloaded.waitlist));
+    }
+
+    @Test
+    @DisplayName("KV-05: Puts made during compaction, including deletes, survive the swap")
+    void compact_KeepsConcurrentPuts() throws Exception {
+        // Arrange
+        Path file = tempDir.resolve("test.kv");
+        byte[] filler = new byte[4096];
+        try (var store = KeyValueStore.open(file)) {
+            Thread writer = new Thread(() -> {
+                try {
+                    for (int i = 0; i < 2000; i++) {
+                        store.put("B" + (i % 20), i % 20 == 7 ? bytes("kept " + i) : filler);
+                        if (i % 20 == 13) store.delete("B13");
+                    }
+                } catch (Exception e) {
+                    throw new RuntimeException(e);
+                }
+            });
+
+            // Act
+            writer.start();
+            for (int i = 0; i < 20; i++) store.compact();
+            writer.join();
+            store.sync();
+        }
+
+        // Assert
+        try (var store = KeyValueStore.open(file)) {
+            assertEquals(19, store.size());
+            assertNull(store.get("B13"));
+            assertEquals("kept 1987", new String(store.get("B7"), StandardCharsets.UTF_8));
+        }
+    }
+
+    @Test
+    @DisplayName("KV-06: Repositories refuse to start when their store cannot be opened")
+    void repositories_FailWhenStoreCannotOpen() {
+        // Arrange
+        String unreachable = tempDir.resolve("missing").resolve("test.kv").toString();
+
+        // Act & Assert
+        assertThrows(UncheckedIOException.class, () -> new KvStudentRepository(unreachable));
+        assertThrows(UncheckedIOException.class, () -> new KvCourseRepository(unreachable));
+        assertThrows(UncheckedIOException.class, () -> new KvEnrollmentRepository(
+                new CsvEnrollmentRepositoryTest.InMemoryCourseRepository(), unreachable));
+    }
+}
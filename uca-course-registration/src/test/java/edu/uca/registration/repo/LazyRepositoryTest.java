@@ -0,0 +1,59 @@
+package test.java.edu.uca.registration.repo;
+
+import edu.uca.registration.model.Student;
+import edu.uca.registration.repo.impl.CsvStudentRepository;
+import edu.uca.registration.repo.impl.LazyStudentRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LazyRepositoryTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    @DisplayName("LZ-01: Wrapped repository loads once, on first use")
+    void lazyRepository_LoadsOnFirstUse() throws Exception {
+        // Arrange
+        Path file = tempDir.resolve("students.csv");
+        Files.writeString(file, "B001,Alice,alice@uca.edu\n");
+        AtomicInteger loads = new AtomicInteger();
+        var repo = new LazyStudentRepository(() -> {
+            loads.incrementAndGet();
+            return new CsvStudentRepository(file.toString());
+        });
+
+        // Act & Assert
+        assertEquals(0, loads.get());
+        assertEquals("Alice", repo.findById("B001").name);
+        repo.save(new Student("B002", "Brian", "brian@uca.edu"));
+        assertEquals(2, repo.findAll().size());
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    @DisplayName("LZ-02: Preloading and first use share a single load")
+    void preload_SharesSingleLoad() {
+        // Arrange
+        AtomicInteger loads = new AtomicInteger();
+        var repo = new LazyStudentRepository(() -> {
+            loads.incrementAndGet();
+            return new CsvStudentRepository(tempDir.resolve("none.csv").toString());
+        });
+
+        // Act
+        repo.preload();
+        boolean exists = repo.existsById("B001");
+
+        // Assert
+        assertFalse(exists);
+        assertEquals(1, loads.get());
+    }
+}
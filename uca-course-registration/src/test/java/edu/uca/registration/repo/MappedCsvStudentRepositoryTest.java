@@ -0,0 +1,81 @@
+package test.java.edu.uca.registration.repo;
+
+import edu.uca.registration.model.Student;
+import edu.uca.registration.repo.impl.MappedCsvStudentRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MappedCsvStudentRepositoryTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    @DisplayName("MR-01: Lookups materialize the newest row for an ID")
+    void findById_UsesNewestRow() throws Exception {
+        Path file = tempDir.resolve("students.csv");
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < 5000; i++) sb.append("B").append(i).append(",Student ").append(i).append(",s").append(i).append("@uca.edu\n");
+        sb.append("B42,\"Doe, Jane\",jane@uca.edu\n").append("\n").append("B7,Seven");
+        Files.writeString(file, sb.toString());
+
+        var repo = new MappedCsvStudentRepository(file.toString());
+
+        assertEquals("Student 4999", repo.findById("B4999").name);
+        assertEquals("Doe, Jane", repo.findById("B42").name);
+        assertNull(repo.findById("B5000"));
+        assertTrue(repo.existsById("B0"));
+        assertFalse(repo.existsById("B"));
+        assertEquals(5000, repo.findAll().size());
+    }
+
+    @Test
+    @DisplayName("MR-02: Saves append rows that a reopened repository indexes")
+    void save_AppendsAndReopens() throws Exception {
+        Path file = tempDir.resolve("students.csv");
+        Files.writeString(file, "B001,Alice,alice@uca.edu");
+
+        var repo = new MappedCsvStudentRepository(file.toString());
+        repo.save(new Student("B002", "Brian", "brian@uca.edu"));
+        repo.save(new Student("B001", "Alice Smith", "alice@uca.edu"));
+        assertEquals("Alice Smith", repo.findById("B001").name);
+
+        var reopened = new MappedCsvStudentRepository(file.toString());
+        assertEquals("Alice Smith", reopened.findById("B001").name);
+        assertEquals("Brian", reopened.findById("B002").name);
+        assertEquals(2, reopened.getAllStudentsMap().size());
+        assertEquals(3, Files.readAllLines(file).size());
+    }
+
+    @Test
+    @DisplayName("MR-03: Missing file starts empty")
+    void missingFile_StartsEmpty() {
+        var repo = new MappedCsvStudentRepository(tempDir.resolve("none.csv").toString());
+        assertNull(repo.findById("B001"));
+        assertTrue(repo.findAll().isEmpty());
+    }
+
+    @Test
+    @DisplayName("MR-04: Quoted fields spanning lines stay inside their row")
+    void quotedNewline_StaysInRow() throws Exception {
+        Path file = tempDir.resolve("students.csv");
+        Files.writeString(file, "B001,Alice,alice@uca.edu\n");
+
+        var repo = new MappedCsvStudentRepository(file.toString());
+        repo.save(new Student("B002", "Brian\nB999,Mallory,\"x\"\"y\"", "brian@uca.edu"));
+        repo.save(new Student("B003", "Carla", "carla@uca.edu"));
+
+        var reopened = new MappedCsvStudentRepository(file.toString());
+        assertEquals("Brian\nB999,Mallory,\"x\"\"y\"", reopened.findById("B002").name);
+        assertEquals("brian@uca.edu", reopened.findById("B002").email);
+        assertEquals("Carla", reopened.findById("B003").name);
+        assertNull(reopened.findById("B999"));
+        assertEquals(3, reopened.getAllStudentsMap().size());
+    }
+}
@@ -0,0 +1,146 @@
+package test.java.edu.uca.registration.repo;
+
+import edu.uca.registration.model.Course;
+import edu.uca.registration.repo.EnrollmentRepository.Mutation;
+import edu.uca.registration.repo.impl.SegmentedEnrollmentRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.*;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SegmentedEnrollmentRepositoryTest {
+
+    @TempDir
+    Path tempDir;
+
+    private Path segmentDir;
+    private Path logFile;
+    private Path legacyFile;
+
+    @BeforeEach
+    void setUp() {
+        segmentDir = tempDir.resolve("enrollments.d");
+        logFile = tempDir.resolve("enrollments.log");
+        legacyFile = tempDir.resolve("enrollments.csv");
+    }
+
+    private SegmentedEnrollmentRepository reopen(Course... courses) {
+        var repo = new SegmentedEnrollmentRepository(new CsvEnrollmentRepositoryTest.InMemoryCourseRepository(courses),
+                segmentDir.toString(), logFile.toString(), legacyFile.toString());
+        repo.loadEnrollments();
+        return repo;
+    }
+
+    private static List<String> records(Path file) throws Exception {
+        List<String> lines = new ArrayList<>(Files.readAllLines(file));
+        lines.removeIf(line -> line.startsWith("#!checksum"));
+        return lines;
+    }
+
+    @Test
+    @DisplayName("SG-01: Save rewrites only the segments of courses changed since the last save")
+    void saveEnrollments_WritesOnlyChangedCourses() throws Exception {
+        // Arrange
+        Course se = new Course("CSCI4490", "Software Engineering", 5);
+        Course os = new Course("CSCI4300", "Operating Systems", 5);
+        var repo = reopen(se, os);
+        se.roster.add("B001");
+        os.roster.add("B002");
+        repo.saveEnrollments();
+        FileTime untouched = FileTime.fromMillis(0);
+        Files.setLastModifiedTime(segmentDir.resolve("CSCI4300.csv"), untouched);
+
+        // Act
+        se.waitlist.add("B003");
+        repo.saveEnrollments();
+
+        // Assert
+        assertEquals(untouched, Files.getLastModifiedTime(segmentDir.resolve("CSCI4300.csv")));
+        assertEquals(List.of("CSCI4490|B001|ENROLLED", "CSCI4490|B003|WAITLIST"),
+                records(segmentDir.resolve("CSCI4490.csv")));
+        Course reloadedSe = new Course("CSCI4490", "Software Engineering", 5);
+        Course reloadedOs = new Course("CSCI4300", "Operating Systems", 5);
+        reopen(reloadedSe, reloadedOs);
+        assertEquals(List.of("B001"), new ArrayList<>(reloadedSe.roster));
+        assertEquals(List.of("B003"), new ArrayList<>(reloadedSe.waitlist));
+        assertEquals(List.of("B002"), new ArrayList<>(reloadedOs.roster));
+    }
+
+    @Test
+    @DisplayName("SG-02: Legacy enrollments.csv is split into segments and emptied courses lose theirs")
+    void loadEnrollments_MigratesLegacyFile() throws Exception {
+        // Arrange
+        Files.writeString(legacyFile, "CSCI4490|B001|ENROLLED\nCSCI4300|B002|ENROLLED\nCSCI4300|B003|WAITLIST\n");
+        Course se = new Course("CSCI4490", "Software Engineering", 5);
+        Course os = new Course("CSCI4300", "Operating Systems", 5);
+
+        // Act
+        var repo = reopen(se, os);
+        se.roster.remove("B001");
+        repo.saveEnrollments();
+
+        // Assert
+        assertEquals(List.of("B002"), new ArrayList<>(os.roster));
+        assertEquals(List.of("B003"), new ArrayList<>(os.waitlist));
+        assertFalse(Files.exists(segmentDir.resolve("CSCI4490.csv")));
+        assertEquals(List.of("CSCI4300|B002|ENROLLED", "CSCI4300|B003|WAITLIST"),
+                records(segmentDir.resolve("CSCI4300.csv")));
+    }
+
+    @Test
+    @DisplayName("SG-03: Checkpoint folds the log into only the segments it mentions")
+    void checkpoint_RewritesLoggedCourses() throws Exception {
+        // Arrange
+        Course se = new Course("CSCI4490", "Software Engineering", 5);
+        Course os = new Course("CSCI4300", "Operating Systems", 5);
+        var repo = reopen(se, os);
+        os.roster.add("B002");
+        repo.saveEnrollments();
+        FileTime untouched = FileTime.fromMillis(0);
+        Files.setLastModifiedTime(segmentDir.resolve("CSCI4300.csv"), untouched);
+        repo.recordChange(Mutation.ENROLL, "CSCI4490", "B001");
+        repo.recordChange(Mutation.WAITLIST, "CSCI4490", "B003");
+
+        // Act
+        repo.checkpoint();
+
+        // Assert
+        assertEquals(0, repo.getLogSize());
+        assertEquals(untouched, Files.getLastModifiedTime(segmentDir.resolve("CSCI4300.csv")));
+        assertEquals(List.of("CSCI4490|B001|ENROLLED", "CSCI4490|B003|WAITLIST"),
+                records(segmentDir.resolve("CSCI4490.csv")));
+    }
+
+    @Test
+    @DisplayName("SG-04: Segment names percent-encode everything but letters, digits, '_' and '-'")
+    void saveEnrollments_EncodesSegmentNames() throws Exception {
+        // Arrange
+        Course dots = new Course("..", "Dots", 5);
+        Course glob = new Course("CS*4.90 é", "Glob", 5);
+        var repo = reopen(dots, glob);
+        dots.roster.add("B001");
+        glob.roster.add("B002");
+
+        // Act
+        repo.saveEnrollments();
+
+        // Assert
+        try (var files = Files.list(segmentDir)) {
+            assertEquals(Set.of("%2E%2E.csv", "CS%2A4%2E90%20%C3%A9.csv"),
+                    files.map(f -> f.getFileName().toString()).collect(Collectors.toSet()));
+        }
+        Course reloadedDots = new Course("..", "Dots", 5);
+        Course reloadedGlob = new Course("CS*4.90 é", "Glob", 5);
+        reopen(reloadedDots, reloadedGlob);
+        assertEquals(List.of("B001"), new ArrayList<>(reloadedDots.roster));
+        assertEquals(List.of("B002"), new ArrayList<>(reloadedGlob.roster));
+    }
+}
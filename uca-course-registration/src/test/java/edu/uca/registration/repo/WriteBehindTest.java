@@ -0,0 +1,105 @@
+package test.java.edu.uca.registration.repo;
+
+import edu.uca.registration.model.Course;
+import edu.uca.registration.model.Student;
+import edu.uca.registration.repo.impl.CsvCourseRepository;
+import edu.uca.registration.repo.impl.CsvStudentRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class WriteBehindTest {
+
+    @TempDir
+    Path tempDir;
+
+    private static long lineCount(Path file) throws Exception {
+        if (!Files.exists(file)) return 0;
+        return Files.readAllLines(file).stream().filter(line -> !line.startsWith("#!checksum")).count();
+    }
+
+    private static void awaitLines(Path file, long expected) throws Exception {
+        for (int i = 0; i < 500 && lineCount(file) != expected; i++) Thread.sleep(10);
+    }
+
+    @Test
+    @DisplayName("WB-01: Saves only mark the file dirty until flush writes them all at once")
+    void saves_AreCoalescedUntilFlush() throws Exception {
+        // Arrange
+        Path file = tempDir.resolve("students.csv");
+        var repo = new CsvStudentRepository(file.toString(), 60_000, 1000);
+
+        // Act
+        for (int i = 0; i < 50; i++) repo.save(new Student("B" + (100 + i), "Student " + i, "s" + i + "@uca.edu"));
+        boolean writtenBeforeFlush = Files.exists(file);
+        int pending = repo.pendingSaves();
+        repo.flush();
+
+        // Assert
+        assertFalse(writtenBeforeFlush);
+        assertEquals(50, pending);
+        assertEquals(0, repo.pendingSaves());
+        assertEquals(50, lineCount(file));
+        assertEquals(50, new CsvStudentRepository(file.toString()).findAll().size());
+    }
+
+    @Test
+    @DisplayName("WB-02: The flusher writes once the oldest save reaches the staleness bound")
+    void flusher_WritesWithinMaxStaleness() throws Exception {
+        // Arrange
+        Path file = tempDir.resolve("courses.csv");
+        var repo = new CsvCourseRepository(file.toString(), 50, 1000);
+
+        // Act
+        repo.save(new Course("CSCI4490", "Software Engineering", 30));
+        repo.save(new Course("MATH1496", "Calculus I", 50));
+        awaitLines(file, 2);
+
+        // Assert
+        assertEquals(2, lineCount(file));
+        assertEquals(0, repo.pendingSaves());
+        assertFalse(Files.exists(tempDir.resolve("courses.csv.tmp")));
+    }
+
+    @Test
+    @DisplayName("WB-03: Reaching the dirty threshold triggers a write before the staleness bound")
+    void flusher_WritesAtDirtyThreshold() throws Exception {
+        // Arrange
+        Path file = tempDir.resolve("students.csv");
+        var repo = new CsvStudentRepository(file.toString(), 60_000, 10);
+
+        // Act
+        for (int i = 0; i < 10; i++) repo.save(new Student("B" + (100 + i), "Student " + i, "s" + i + "@uca.edu"));
+        awaitLines(file, 10);
+
+        // Assert
+        assertEquals(10, lineCount(file));
+    }
+
+    @Test
+    @DisplayName("WB-04: A failed write leaves the saves pending and the next flush retries them")
+    void flush_FailedWrite_IsRetried() throws Exception {
+        // Arrange
+        Path dir = tempDir.resolve("missing");
+        Path file = dir.resolve("students.csv");
+        var repo = new CsvStudentRepository(file.toString(), 60_000, 1000);
+        repo.save(new Student("B100", "Student 0", "s0@uca.edu"));
+        repo.save(new Student("B101", "Student 1", "s1@uca.edu"));
+
+        // Act
+        repo.flush();
+        int pendingAfterFailure = repo.pendingSaves();
+        Files.createDirectories(dir);
+        repo.flush();
+
+        // Assert
+        assertEquals(2, pendingAfterFailure);
+        assertEquals(0, repo.pendingSaves());
+        assertEquals(2, lineCount(file));
+    }
+}
@@ -7,6 +7,8 @@ import edu.uca.registration.repo.StudentRepository;
 import edu.uca.registration.repo.impl.CsvCourseRepository;
 import edu.uca.registration.repo.impl.CsvEnrollmentRepository;
 import edu.uca.registration.repo.impl.CsvStudentRepository;
+import edu.uca.registration.service.EnrollmentResult;
+import edu.uca.registration.service.EnrollmentResult.Status;
 import edu.uca.registration.service.RegistrationService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -53,6 +55,7 @@ class RegistrationServiceComponentTest {
         private final String studentsFile;
 
         public TestCsvStudentRepository(String studentsFile) {
+            super(studentsFile);
             this.studentsFile = studentsFile;
             // Don't auto-load - we'll load specific test data in each test
         }
@@ -93,6 +96,7 @@ class RegistrationServiceComponentTest {
         private final String coursesFile;
 
         public TestCsvCourseRepository(String coursesFile) {
+            super(coursesFile);
             this.coursesFile = coursesFile;
             // Don't auto-load - we'll load specific test data in each test
         }
@@ -134,7 +138,7 @@ class RegistrationServiceComponentTest {
         private final String enrollmentsFile;
 
         public TestCsvEnrollmentRepository(CourseRepository courseRepository, String enrollmentsFile) {
-            super(courseRepository);
+            super(courseRepository, enrollmentsFile, enrollmentsFile + ".log");
             this.enrollmentsFile = enrollmentsFile;
         }
 
@@ -195,10 +199,10 @@ class RegistrationServiceComponentTest {
         registrationService.loadAllData();
 
         // Act
-        String result = registrationService.enrollStudent("B001", "CSCI4490");
+        EnrollmentResult result = registrationService.enrollStudent("B001", "CSCI4490");
 
         // Assert
-        assertEquals("ENROLLED", result);
+        assertEquals(Status.ENROLLED, result.status);
 
         Course course = courseRepo.findByCode("CSCI4490");
         assertNotNull(course, "Course should not be null");
@@ -221,10 +225,10 @@ class RegistrationServiceComponentTest {
         registrationService.enrollStudent("B002", "CSCI4490");
 
         // Act - Try to enroll third student
-        String result = registrationService.enrollStudent("B003", "CSCI4490");
+        EnrollmentResult result = registrationService.enrollStudent("B003", "CSCI4490");
 
         // Assert
-        assertEquals("WAITLIST", result);
+        assertEquals(Status.WAITLISTED, result.status);
 
         Course course = courseRepo.findByCode("CSCI4490");
         assertNotNull(course, "Course should not be null");
@@ -254,10 +258,11 @@ class RegistrationServiceComponentTest {
         assertEquals(1, courseBefore.waitlist.size());
 
         // Act
-        String result = registrationService.dropStudent("B001", "CSCI4490");
+        EnrollmentResult result = registrationService.dropStudent("B001", "CSCI4490");
 
         // Assert
-        assertEquals("PROMOTED:B003", result);
+        assertEquals(Status.PROMOTED, result.status);
+        assertEquals("B003", result.promotedStudentId);
 
         Course courseAfter = courseRepo.findByCode("CSCI4490");
         assertNotNull(courseAfter, "Course should not be null");
@@ -0,0 +1,274 @@
+package test.java.edu.uca.registration.service;
+
+import edu.uca.registration.model.Course;
+import edu.uca.registration.repo.EnrollmentRepository;
+import edu.uca.registration.service.AdmissionQueue;
+import edu.uca.registration.service.EnrollmentResult;
+import edu.uca.registration.service.EnrollmentResult.Status;
+import edu.uca.registration.service.RegistrationEngine;
+import edu.uca.registration.service.RegistrationService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RegistrationServiceConcurrencyTest {
+
+    private static final int THREADS = 32;
+
+    // Journal stub that captures records in append order
+    static class RecordingEnrollmentRepository implements EnrollmentRepository {
+        final List<String[]> records = Collections.synchronizedList(new ArrayList<>());
+
+        @Override
+        public void loadEnrollments() {}
+
+        @Override
+        public void saveEnrollments() {}
+
+        @Override
+        public void recordChange(Mutation mutation, String courseCode, String studentId) {
+            records.add(new String[]{mutation.name(), courseCode, studentId});
+        }
+
+        @Override
+        public void recordPromotion(String courseCode, String droppedId, String promotedId) {
+            records.add(new String[]{Mutation.PROMOTE.name(), courseCode, droppedId, promotedId});
+        }
+    }
+
+    private TestCourseRepository courseRepo;
+    private RecordingEnrollmentRepository enrollmentRepo;
+    private RegistrationService registrationService;
+
+    @BeforeEach
+    void setUp() {
+        courseRepo = new TestCourseRepository();
+        enrollmentRepo = new RecordingEnrollmentRepository();
+        registrationService = new RegistrationService(new TestStudentRepository(), courseRepo, enrollmentRepo);
+        registrationService.addCourse("CSCI4490", "Software Engineering", 100);
+        registrationService.addCourse("MATH1496", "Calculus I", 40);
+    }
+
+    private void runConcurrently(int tasks, java.util.function.IntConsumer task) throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int i = 0; i < tasks; i++) {
+            int n = i;
+            futures.add(pool.submit(() -> {
+                start.await();
+                task.accept(n);
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> f : futures) f.get(30, TimeUnit.SECONDS);
+        pool.shutdown();
+    }
+
+    @Test
+    @DisplayName("CC-01: Concurrent enrollments never exceed capacity")
+    void enrollStudent_Concurrent_NeverOverbooks() throws Exception {
+        Map<String, AtomicInteger> outcomes = new ConcurrentHashMap<>();
+
+        runConcurrently(2000, n -> {
+            String course = n % 2 == 0 ? "CSCI4490" : "MATH1496";
+            EnrollmentResult result = registrationService.enrollStudent("B" + n, course);
+            outcomes.computeIfAbsent(course + ":" + result, k -> new AtomicInteger()).incrementAndGet();
+        });
+
+        Course cs = courseRepo.findByCode("CSCI4490");
+        Course math = courseRepo.findByCode("MATH1496");
+        assertEquals(100, cs.roster.size());
+        assertEquals(900, cs.waitlist.size());
+        assertEquals(40, math.roster.size());
+        assertEquals(960, math.waitlist.size());
+        assertEquals(100, outcomes.get("CSCI4490:ENROLLED").get());
+        assertEquals(40, outcomes.get("MATH1496:ENROLLED").get());
+    }
+
+    @Test
+    @DisplayName("CC-02: Concurrent drops promote in FIFO order and match the journal")
+    void dropStudent_Concurrent_PromotesFifo() throws Exception {
+        runConcurrently(1000, n -> registrationService.enrollStudent("B" + n, "CSCI4490"));
+        Course course = courseRepo.findByCode("CSCI4490");
+        List<String> enrolledBefore = new ArrayList<>(course.roster);
+        List<String> waitlistBefore = new ArrayList<>(course.waitlist);
+
+        // Drop half the roster while waitlisted students also try to re-enroll or leave
+        runConcurrently(200, n -> {
+            if (n < 50) {
+                registrationService.dropStudent(enrolledBefore.get(n), "CSCI4490");
+            } else if (n < 100) {
+                registrationService.dropStudent(waitlistBefore.get(waitlistBefore.size() - 1 - (n - 50)), "CSCI4490");
+            } else {
+                registrationService.enrollStudent(waitlistBefore.get(n - 100), "CSCI4490");
+            }
+            assertTrue(course.roster.size() <= course.capacity);
+        });
+
+        assertEquals(100, course.roster.size());
+        assertEquals(waitlistBefore.size() - 100, course.waitlist.size());
+        // The first 50 waitlisted students were promoted, in order
+        assertTrue(course.roster.containsAll(waitlistBefore.subList(0, 50)));
+        assertEquals(waitlistBefore.subList(50, waitlistBefore.size() - 50), new ArrayList<>(course.waitlist));
+
+        // Replaying the journal single-threaded reproduces the live state exactly
+        Course replayed = new Course("CSCI4490", "Software Engineering", 100);
+        for (String[] r : enrollmentRepo.records) {
+            switch (r[0]) {
+                case "ENROLL": replayed.roster.add(r[2]); break;
+                case "WAITLIST": replayed.waitlist.add(r[2]); break;
+                case "DROP": if (!replayed.roster.remove(r[2])) replayed.waitlist.remove(r[2]); break;
+                case "PROMOTE":
+                    replayed.roster.remove(r[2]);
+                    assertEquals(replayed.waitlist.getFirst(), r[3], "Promotion must take the waitlist head");
+                    replayed.waitlist.remove(r[3]);
+                    replayed.roster.add(r[3]);
+                    break;
+            }
+        }
+        assertEquals(new HashSet<>(course.roster), new HashSet<>(replayed.roster));
+        assertEquals(new ArrayList<>(course.waitlist), new ArrayList<>(replayed.waitlist));
+    }
+
+    @Test
+    @DisplayName("CC-03: Admission queue applies surges through per-shard writers")
+    void admissionQueue_Surge_FillsCapacityAndKeepsStudentOrder() throws Exception {
+        try (AdmissionQueue queue = new AdmissionQueue(registrationService, 4, 10_000)) {
+            List<CompletableFuture<EnrollmentResult>> results = new ArrayList<>();
+
+            // Every student enrolls and then drops MATH1496 in the same burst
+            runConcurrently(2000, n -> {
+                String course = n % 2 == 0 ? "CSCI4490" : "MATH1496";
+                CompletableFuture<EnrollmentResult> enrolled = queue.enroll("B" + n, course);
+                if (n % 2 == 1) queue.drop("B" + n, course);
+                synchronized (results) {
+                    results.add(enrolled);
+                }
+            });
+            Map<Status, Integer> outcomes = new HashMap<>();
+            for (CompletableFuture<EnrollmentResult> f : results) outcomes.merge(f.get(30, TimeUnit.SECONDS).status, 1, Integer::sum);
+            queue.close();
+
+            assertEquals(0, queue.depth());
+            assertEquals(3000, queue.admitted());
+            assertEquals(100, courseRepo.findByCode("CSCI4490").roster.size());
+            assertEquals(0, courseRepo.findByCode("MATH1496").roster.size());
+            assertEquals(0, courseRepo.findByCode("MATH1496").waitlist.size());
+            assertEquals(2000, outcomes.get(Status.ENROLLED) + outcomes.get(Status.WAITLISTED));
+        }
+    }
+
+    @Test
+    @DisplayName("CC-04: A full admission queue rejects with a retry-after hint")
+    void admissionQueue_Full_RejectsWithRetryAfter() throws Exception {
+        // A writer blocked on the course lock keeps everything behind it queued
+        Course course = courseRepo.findByCode("CSCI4490");
+        try (AdmissionQueue queue = new AdmissionQueue(registrationService, 1, 3)) {
+            CompletableFuture<EnrollmentResult> first;
+            List<CompletableFuture<EnrollmentResult>> queued = new ArrayList<>();
+            CompletableFuture<EnrollmentResult> rejected;
+            synchronized (course) {
+                first = queue.enroll("B1", "CSCI4490");
+                while (queue.depth() > 0) Thread.sleep(1);
+                for (int i = 2; i <= 4; i++) queued.add(queue.enroll("B" + i, "CSCI4490"));
+                rejected = queue.enroll("B5", "CSCI4490");
+            }
+
+            ExecutionException e = assertThrows(ExecutionException.class, () -> rejected.get(5, TimeUnit.SECONDS));
+            assertInstanceOf(AdmissionQueue.Rejected.class, e.getCause());
+            assertTrue(((AdmissionQueue.Rejected) e.getCause()).retryAfterSeconds >= 1);
+            assertEquals(Status.ENROLLED, first.get(5, TimeUnit.SECONDS).status);
+            for (CompletableFuture<EnrollmentResult> f : queued) assertEquals(Status.ENROLLED, f.get(5, TimeUnit.SECONDS).status);
+            assertEquals(1, queue.rejected());
+        }
+    }
+
+    @Test
+    @DisplayName("CC-05: Engine applies commands on one thread and replicates them to the standby")
+    void registrationEngine_ConcurrentProducers_JournalAndStandbyMatch() throws Exception {
+        TestCourseRepository standbyCourses = new TestCourseRepository();
+        RecordingEnrollmentRepository standby = new RecordingEnrollmentRepository();
+        List<CompletableFuture<EnrollmentResult>> results = Collections.synchronizedList(new ArrayList<>());
+
+        try (RegistrationEngine engine = new RegistrationEngine(registrationService, 256, standbyCourses, standby)) {
+            engine.addCourse("ENGL1301", "Composition I", 5, null, List.of()).get(5, TimeUnit.SECONDS);
+            runConcurrently(1000, n -> {
+                results.add(engine.enroll("B" + n, n % 2 == 0 ? "CSCI4490" : "ENGL1301"));
+                if (n % 10 == 0) results.add(engine.drop("B" + n, "CSCI4490"));
+            });
+            for (CompletableFuture<EnrollmentResult> f : results) f.get(30, TimeUnit.SECONDS);
+        }
+
+        Course cs = courseRepo.findByCode("CSCI4490");
+        assertEquals(100, cs.roster.size());
+        assertEquals(5, courseRepo.findByCode("ENGL1301").roster.size());
+        assertNotNull(standbyCourses.findByCode("ENGL1301"));
+        // Both consumers saw the same changes in the same order
+        assertEquals(enrollmentRepo.records.size(), standby.records.size());
+        for (int i = 0; i < standby.records.size(); i++) {
+            assertArrayEquals(enrollmentRepo.records.get(i), standby.records.get(i));
+        }
+    }
+
+    @Test
+    @DisplayName("CC-06: A journal failure fails only that command and the engine keeps going")
+    void registrationEngine_JournalThrows_FailsOnlyThatCommand() throws Exception {
+        RecordingEnrollmentRepository failing = new RecordingEnrollmentRepository() {
+            @Override
+            public void recordChange(Mutation mutation, String courseCode, String studentId) {
+                if (studentId.equals("B666")) throw new IllegalStateException("journal unavailable");
+                super.recordChange(mutation, courseCode, studentId);
+            }
+        };
+        registrationService = new RegistrationService(new TestStudentRepository(), courseRepo, failing);
+
+        try (RegistrationEngine engine = new RegistrationEngine(registrationService, 4)) {
+            CompletableFuture<EnrollmentResult> bad = engine.enroll("B666", "CSCI4490");
+            List<CompletableFuture<EnrollmentResult>> rest = new ArrayList<>();
+            for (int i = 0; i < 20; i++) rest.add(engine.enroll("B" + i, "CSCI4490"));
+
+            ExecutionException e = assertThrows(ExecutionException.class, () -> bad.get(5, TimeUnit.SECONDS));
+            assertEquals("journal unavailable", e.getCause().getMessage());
+            for (CompletableFuture<EnrollmentResult> f : rest) assertEquals(Status.ENROLLED, f.get(5, TimeUnit.SECONDS).status);
+        }
+        assertEquals(20, failing.records.size());
+    }
+
+    @Test
+    @DisplayName("CC-07: Commands submitted while the admission queue closes are applied or rejected and counted, never lost")
+    void admissionQueue_SubmitRacingClose_EveryFutureCompletes() throws Exception {
+        for (int i = 0; i < 20; i++) {
+            int round = i;
+            AdmissionQueue queue = new AdmissionQueue(registrationService, 4, 10_000);
+            List<CompletableFuture<EnrollmentResult>> results = Collections.synchronizedList(new ArrayList<>());
+            Thread closer = new Thread(queue::close);
+
+            runConcurrently(200, n -> {
+                if (n == 100) closer.start();
+                results.add(queue.enroll("R" + round + "-" + n, n % 2 == 0 ? "CSCI4490" : "MATH1496"));
+            });
+            closer.join();
+
+            int refused = 0;
+            for (CompletableFuture<EnrollmentResult> f : results) {
+                try {
+                    f.get(5, TimeUnit.SECONDS);
+                } catch (ExecutionException e) {
+                    assertInstanceOf(RejectedExecutionException.class, e.getCause());
+                    refused++;
+                }
+            }
+            assertEquals(0, queue.depth());
+            assertEquals(refused, queue.rejected());
+            assertEquals(200, queue.admitted() + queue.rejected());
+        }
+    }
+}
@@ -1,15 +1,21 @@
 package test.java.edu.uca.registration.service;
 
 import edu.uca.registration.model.Course;
+import edu.uca.registration.model.StudentIds;
 import edu.uca.registration.model.Student;
 import edu.uca.registration.repo.CourseRepository;
 import edu.uca.registration.repo.EnrollmentRepository;
 import edu.uca.registration.repo.StudentRepository;
+import edu.uca.registration.service.EnrollmentCommand;
+import edu.uca.registration.service.EnrollmentResult;
+import edu.uca.registration.service.EnrollmentResult.Status;
 import edu.uca.registration.service.RegistrationService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.DisplayName;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.*;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -158,24 +164,24 @@ class RegistrationServiceUnitTest {
     @DisplayName("UT-06: Enroll student with empty parameters")
     void enrollStudent_EmptyParameters_ReturnsError() {
         // Act
-        String result1 = registrationService.enrollStudent("", "CSCI4490");
-        String result2 = registrationService.enrollStudent("B001", "");
+        EnrollmentResult result1 = registrationService.enrollStudent("", "CSCI4490");
+        EnrollmentResult result2 = registrationService.enrollStudent("B001", "");
 
         // Assert
-        assertEquals("Student ID cannot be empty", result1);
-        assertEquals("Course code cannot be empty", result2);
+        assertEquals(Status.INVALID_STUDENT_ID, result1.status);
+        assertEquals(Status.INVALID_COURSE_CODE, result2.status);
     }
 
     @Test
     @DisplayName("UT-07: Drop student with empty parameters")
     void dropStudent_EmptyParameters_ReturnsError() {
         // Act
-        String result1 = registrationService.dropStudent("", "CSCI4490");
-        String result2 = registrationService.dropStudent("B001", "");
+        EnrollmentResult result1 = registrationService.dropStudent("", "CSCI4490");
+        EnrollmentResult result2 = registrationService.dropStudent("B001", "");
 
         // Assert
-        assertEquals("Student ID cannot be empty", result1);
-        assertEquals("Course code cannot be empty", result2);
+        assertEquals(Status.INVALID_STUDENT_ID, result1.status);
+        assertEquals(Status.INVALID_COURSE_CODE, result2.status);
     }
 
     @Test
@@ -185,10 +191,10 @@ class RegistrationServiceUnitTest {
         registrationService.addStudent("B001", "John Doe", "john@uca.edu");
 
         // Act
-        String result = registrationService.enrollStudent("B001", "NONEXISTENT");
+        EnrollmentResult result = registrationService.enrollStudent("B001", "NONEXISTENT");
 
         // Assert
-        assertEquals("No such course", result);
+        assertEquals(Status.NO_SUCH_COURSE, result.status);
     }
 
     @Test
@@ -199,12 +205,231 @@ class RegistrationServiceUnitTest {
         registrationService.addCourse("CSCI4490", "Software Engineering", 30);
 
         // Act
-        String result = registrationService.enrollStudent("B001", "CSCI4490");
+        EnrollmentResult result = registrationService.enrollStudent("B001", "CSCI4490");
 
         // Assert
-        assertEquals("ENROLLED", result);
+        assertEquals(Status.ENROLLED, result.status);
 
         Course course = courseRepo.findByCode("CSCI4490");
         assertTrue(course.roster.contains("B001"));
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("UT-10: Student schedule tracks enrollments, waitlist positions and promotions")
+    void getStudentSchedule_TracksEnrollAndDrop() {
+        // Arrange
+        registrationService.addCourse("CSCI4490", "Software Engineering", 1);
+        registrationService.addCourse("MATH1496", "Calculus I", 30);
+        registrationService.enrollStudent("B001", "CSCI4490");
+        registrationService.enrollStudent("B002", "CSCI4490");
+        registrationService.enrollStudent("B003", "CSCI4490");
+        registrationService.enrollStudent("B003", "MATH1496");
+
+        // Assert - B003 is second in line for CSCI4490
+        assertEquals("[CSCI4490 WAITLIST #2, MATH1496 ENROLLED]",
+                registrationService.getStudentSchedule("B003").toString());
+
+        // Act - B001 drops, B002 is promoted and B003 moves up
+        registrationService.dropStudent("B001", "CSCI4490");
+
+        // Assert
+        assertTrue(registrationService.getStudentSchedule("B001").isEmpty());
+        assertEquals("[CSCI4490 ENROLLED]", registrationService.getStudentSchedule("B002").toString());
+        assertEquals("[CSCI4490 WAITLIST #1, MATH1496 ENROLLED]",
+                registrationService.getStudentSchedule("B003").toString());
+    }
+
+    @Test
+    @DisplayName("UT-11: Batch applies commands in order and flushes once per chunk")
+    void applyBatch_FlushesPerChunk() {
+        // Arrange
+        int[] flushes = {0};
+        var countingRepo = new TestEnrollmentRepository() {
+            @Override
+            public void flush() { flushes[0]++; }
+        };
+        var service = new RegistrationService(studentRepo, courseRepo, countingRepo);
+        service.addCourse("CSCI4490", "Software Engineering", 2);
+        List<EnrollmentCommand> batch = List.of(
+                EnrollmentCommand.enroll("B001", "CSCI4490"),
+                EnrollmentCommand.enroll("B002", "CSCI4490"),
+                EnrollmentCommand.enroll("B003", "CSCI4490"),
+                EnrollmentCommand.enroll("B001", "CSCI4490"),
+                EnrollmentCommand.drop("B001", "CSCI4490"),
+                EnrollmentCommand.enroll("B004", "NONEXISTENT"));
+
+        // Act
+        List<EnrollmentResult> results = service.applyBatch(batch, 4);
+
+        // Assert
+        List<Status> statuses = new ArrayList<>();
+        for (EnrollmentResult r : results) statuses.add(r.status);
+        assertEquals(List.of(Status.ENROLLED, Status.ENROLLED, Status.WAITLISTED, Status.ALREADY_ENROLLED,
+                Status.PROMOTED, Status.NO_SUCH_COURSE), statuses);
+        assertEquals(1, results.get(0).remainingSeats);
+        assertEquals(0, results.get(1).remainingSeats);
+        assertEquals(1, results.get(2).waitlistPosition);
+        assertEquals("B003", results.get(4).promotedStudentId);
+        assertEquals("PROMOTED:B003", results.get(4).toString());
+        assertSame(EnrollmentResult.ALREADY_ENROLLED, results.get(3));
+        assertEquals(2, flushes[0]);
+        assertEquals(1, service.applyBatch(batch.subList(0, 1)).size());
+        assertEquals(3, flushes[0]);
+    }
+
+    @Test
+    @DisplayName("UT-12: Roster set queries intersect and union enrolled students")
+    void rosterQueries_UseSetAlgebra() {
+        // Arrange
+        registrationService.addCourse("CSCI4490", "Software Engineering", 3);
+        registrationService.addCourse("CSCI3381", "Object-Oriented Programming", 3);
+        registrationService.addCourse("MATH1496", "Calculus I", 3);
+        for (String sid : List.of("B001", "B002", "B003", "B004")) registrationService.enrollStudent(sid, "CSCI4490");
+        for (String sid : List.of("B002", "B005")) registrationService.enrollStudent(sid, "CSCI3381");
+        for (String sid : List.of("B003", "B002", "B006")) registrationService.enrollStudent(sid, "MATH1496");
+
+        // Act & Assert - B004 is only waitlisted, so it never counts
+        assertEquals(List.of("B002", "B003"), registrationService.studentsEnrolledInAll("CSCI4490", "MATH1496"));
+        assertEquals(List.of("B002"), registrationService.studentsEnrolledInAll("CSCI4490", "CSCI3381", "MATH1496"));
+        assertEquals(List.of("B001", "B002", "B003", "B005"), registrationService.studentsInDepartment("csci"));
+        assertEquals(4, registrationService.headcount("CSCI4490", "CSCI3381"));
+        assertEquals(0, registrationService.headcount("NONEXISTENT"));
+    }
+
+    @Test
+    @DisplayName("UT-13: Enrollment rejects overlapping meeting times")
+    void enrollStudent_RejectsScheduleConflict() {
+        // Arrange
+        registrationService.addCourse("CSCI4490", "Software Engineering", 1, "MWF 09:00-09:50");
+        registrationService.addCourse("MATH1496", "Calculus I", 10, "MW 09:30-10:45");
+        registrationService.addCourse("ENGL1301", "Composition I", 10, "MWF 09:50-10:40");
+        registrationService.addCourse("HIST2301", "World History", 10);
+        registrationService.enrollStudent("B001", "CSCI4490");
+
+        // Act & Assert - touching end and start times do not clash, TBA never clashes
+        assertEquals("CSCI4490", registrationService.enrollStudent("B001", "MATH1496").conflictWith);
+        assertEquals(Status.ENROLLED, registrationService.enrollStudent("B001", "ENGL1301").status);
+        assertEquals(Status.ENROLLED, registrationService.enrollStudent("B001", "HIST2301").status);
+        // A waitlisted seat holds its time slot too
+        assertEquals(Status.WAITLISTED, registrationService.enrollStudent("B002", "CSCI4490").status);
+        assertEquals("CSCI4490", registrationService.enrollStudent("B002", "MATH1496").conflictWith);
+
+        registrationService.dropStudent("B001", "CSCI4490");
+        assertEquals("ENGL1301", registrationService.enrollStudent("B001", "MATH1496").conflictWith);
+        registrationService.dropStudent("B001", "ENGL1301");
+        assertEquals(Status.ENROLLED, registrationService.enrollStudent("B001", "MATH1496").status);
+        assertThrows(IllegalArgumentException.class,
+                () -> registrationService.addCourse("BAD1000", "Bad Time", 10, "MWF 10:00-09:00"));
+    }
+
+    @Test
+    @DisplayName("UT-14: Prerequisites gate enrollment and eligibility")
+    void enrollStudent_EnforcesPrerequisites() {
+        // Arrange
+        registrationService.addCourse("CSCI1470", "Intro to Programming", 10);
+        registrationService.addCourse("CSCI1480", "Data Structures", 10, null, List.of("CSCI1470"));
+        registrationService.addCourse("CSCI4490", "Software Engineering", 10, null, List.of("CSCI1480", "MATH1496"));
+        registrationService.addStudent("B001", "Alice", "alice@uca.edu");
+        registrationService.addStudent("B002", "Brian", "brian@uca.edu");
+        registrationService.addStudent("B003", "Carla", "carla@uca.edu");
+
+        // Act
+        registrationService.recordCompletion("B001", "CSCI1480");
+        registrationService.recordCompletion("B001", "MATH1496");
+        registrationService.recordCompletion("B002", "CSCI1470");
+
+        // Assert - completing CSCI1480 implies its own prerequisite CSCI1470
+        assertEquals(Status.ENROLLED, registrationService.enrollStudent("B001", "CSCI4490").status);
+        assertEquals(Status.ENROLLED, registrationService.enrollStudent("B001", "CSCI1480").status);
+        assertEquals(List.of("CSCI1480", "MATH1496"), registrationService.enrollStudent("B002", "CSCI4490").missingPrerequisites);
+        assertEquals(Status.MISSING_PREREQUISITE, registrationService.enrollStudent("B999", "CSCI1480").status);
+        assertEquals(List.of("B001", "B002"), registrationService.eligibleStudents("CSCI1480"));
+        assertEquals(List.of("B001", "B002", "B003"), registrationService.eligibleStudents("CSCI1470"));
+        assertThrows(IllegalArgumentException.class,
+                () -> registrationService.addCourse("CSCI1470", "Intro to Programming", 10, null, List.of("CSCI4490")));
+    }
+
+    @Test
+    @DisplayName("UT-15: A journal failure fails the command and leaves the course unchanged")
+    void enrollAndDrop_JournalFails_NothingChanges() {
+        // Arrange
+        boolean[] failing = {false};
+        registrationService = new RegistrationService(studentRepo, courseRepo, new TestEnrollmentRepository() {
+            @Override
+            public void recordChange(Mutation mutation, String courseCode, String studentId) {
+                if (failing[0]) throw new UncheckedIOException(new IOException("disk full"));
+            }
+
+            @Override
+            public void recordPromotion(String courseCode, String droppedId, String promotedId) {
+                recordChange(Mutation.PROMOTE, courseCode, droppedId);
+            }
+        });
+        registrationService.addCourse("CSCI4490", "Software Engineering", 1, "MWF 09:00-09:50");
+        registrationService.enrollStudent("B001", "CSCI4490");
+        registrationService.enrollStudent("B002", "CSCI4490");
+        Course course = courseRepo.findByCode("CSCI4490");
+
+        // Act
+        failing[0] = true;
+        assertThrows(UncheckedIOException.class, () -> registrationService.enrollStudent("B003", "CSCI4490"));
+        assertThrows(UncheckedIOException.class, () -> registrationService.dropStudent("B001", "CSCI4490"));
+        assertThrows(UncheckedIOException.class, () -> registrationService.dropStudent("B002", "CSCI4490"));
+        failing[0] = false;
+
+        // Assert
+        assertEquals(List.of("B001"), new ArrayList<>(course.roster));
+        assertEquals(List.of("B002"), new ArrayList<>(course.waitlist));
+        assertEquals(Status.WAITLISTED, registrationService.enrollStudent("B003", "CSCI4490").status);
+        assertEquals("B002", registrationService.dropStudent("B001", "CSCI4490").promotedStudentId);
+    }
+
+    @Test
+    @DisplayName("UT-16: Redefining a course rejects only prerequisites that lead back to it")
+    void addCourse_RejectsCyclicPrerequisites() {
+        // Arrange
+        registrationService.addCourse("CSCI1470", "Intro to Programming", 10);
+        registrationService.addCourse("CSCI1480", "Data Structures", 10, null, List.of("CSCI1470"));
+        registrationService.addCourse("CSCI2320", "Algorithms", 10, null, List.of("CSCI1480"));
+        registrationService.addCourse("MATH1496", "Calculus I", 10);
+
+        // Act
+        registrationService.addCourse("CSCI2320", "Algorithms", 10, null, List.of("CSCI1480", "MATH1496"));
+
+        // Assert
+        assertEquals(List.of("CSCI1480", "MATH1496"), courseRepo.findByCode("CSCI2320").prerequisites);
+        assertThrows(IllegalArgumentException.class,
+                () -> registrationService.addCourse("CSCI1470", "Intro to Programming", 10, null, List.of("CSCI2320")));
+        assertThrows(IllegalArgumentException.class,
+                () -> registrationService.addCourse("MATH1496", "Calculus I", 10, null, List.of("MATH1496")));
+        assertTrue(courseRepo.findByCode("CSCI1470").prerequisites.isEmpty());
+    }
+
+    @Test
+    @DisplayName("UT-17: Only students actually seated are added to the student ID dictionary")
+    void enrollAndDrop_RejectedIds_NotInterned() {
+        // Arrange
+        registrationService = new RegistrationService(studentRepo, courseRepo, new TestEnrollmentRepository() {
+            @Override
+            public void recordChange(Mutation mutation, String courseCode, String studentId) {
+                if (studentId.equals("UT17-B005")) throw new UncheckedIOException(new IOException("disk full"));
+            }
+        });
+        registrationService.addCourse("CSCI1470", "Intro to Programming", 10, "MWF 09:00-09:50");
+        registrationService.addCourse("CSCI4490", "Software Engineering", 10, "MWF 09:00-09:50", List.of("CSCI1470"));
+        registrationService.enrollStudent("UT17-B001", "CSCI1470");
+
+        // Act
+        registrationService.enrollStudent("UT17-B002", "CSCI4490");
+        registrationService.enrollStudent("UT17-B003", "NOPE1000");
+        registrationService.dropStudent("UT17-B004", "CSCI1470");
+        assertThrows(UncheckedIOException.class, () -> registrationService.enrollStudent("UT17-B005", "CSCI1470"));
+
+        // Assert
+        assertTrue(StudentIds.lookup("UT17-B001") >= 0);
+        assertEquals(-1, StudentIds.lookup("UT17-B002"));
+        assertEquals(-1, StudentIds.lookup("UT17-B003"));
+        assertEquals(-1, StudentIds.lookup("UT17-B004"));
+        assertEquals(-1, StudentIds.lookup("UT17-B005"));
+    }
+}